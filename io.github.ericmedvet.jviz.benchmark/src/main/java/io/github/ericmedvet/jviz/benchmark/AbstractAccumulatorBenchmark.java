@@ -0,0 +1,137 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-benchmark
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.benchmark;
+
+import io.github.ericmedvet.jnb.datastructure.Accumulator;
+import io.github.ericmedvet.jnb.datastructure.Grid;
+import io.github.ericmedvet.jnb.datastructure.NamedFunction;
+import io.github.ericmedvet.jviz.core.plot.XYPlot;
+import io.github.ericmedvet.jviz.core.plot.accumulator.PlotAccumulatorFactory;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public abstract class AbstractAccumulatorBenchmark {
+
+  private static final int N_OF_RUNS_PER_LINE = 10;
+  private static final int GRID_SIDE = 20;
+
+  @Param({"100", "10000", "1000000"})
+  public int nOfEvents;
+  @Param({"1x1", "3x2", "4x4"})
+  public String gridShape;
+
+  private List<Run> runs;
+  private List<Event> events;
+  private List<Accumulator<Event, ? extends XYPlot<?>>> accumulators;
+  private int counter;
+
+  public record Event(int iteration, double value, List<double[]> points, Grid<Double> grid) {}
+
+  public record Run(String xSubplot, String ySubplot, String line, int seed) {}
+
+  protected static <T, R> Function<T, R> named(Function<T, R> f, String name) {
+    return NamedFunction.from(f, name);
+  }
+
+  protected abstract PlotAccumulatorFactory<Event, ? extends XYPlot<?>, Run, ?> factory();
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    RandomGenerator rg = new Random(1);
+    Grid.Key shape = Plots.shape(gridShape);
+    runs = IntStream.range(0, shape.x())
+        .mapToObj(
+            x -> IntStream.range(0, shape.y())
+                .mapToObj(
+                    y -> IntStream.range(0, Plots.N_OF_SERIES * N_OF_RUNS_PER_LINE)
+                        .mapToObj(
+                            i -> new Run(
+                                "x%d".formatted(x),
+                                "y%d".formatted(y),
+                                "l%d".formatted(i % Plots.N_OF_SERIES),
+                                i
+                            )
+                        )
+                        .toList()
+                )
+                .flatMap(List::stream)
+                .toList()
+        )
+        .flatMap(List::stream)
+        .toList();
+    Grid<Double> grid = Grid.create(GRID_SIDE, GRID_SIDE, (x, y) -> rg.nextDouble());
+    List<double[]> points = IntStream.range(0, 100)
+        .mapToObj(i -> new double[]{rg.nextDouble(), rg.nextDouble()})
+        .toList();
+    int nOfEventsPerRun = Math.max(1, nOfEvents / runs.size());
+    events = IntStream.range(0, nOfEventsPerRun)
+        .mapToObj(i -> new Event(i, rg.nextGaussian(), points, grid))
+        .toList();
+    PlotAccumulatorFactory<Event, ? extends XYPlot<?>, Run, ?> factory = factory();
+    accumulators = runs.stream()
+        .<Accumulator<Event, ? extends XYPlot<?>>>map(factory::build)
+        .toList();
+    accumulators.forEach(a -> events.forEach(a::listen));
+    counter = 0;
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void contendedListen() {
+    RandomGenerator rg = ThreadLocalRandom.current();
+    accumulators.get(rg.nextInt(accumulators.size())).listen(events.get(rg.nextInt(events.size())));
+  }
+
+  @Benchmark
+  public XYPlot<?> get() {
+    return accumulators.getLast().get();
+  }
+
+  @Benchmark
+  public int listen() {
+    counter = counter + 1;
+    accumulators.get(counter % accumulators.size()).listen(events.get(counter % events.size()));
+    return counter;
+  }
+}
@@ -0,0 +1,77 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-benchmark
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.benchmark;
+
+import io.github.ericmedvet.jviz.core.drawer.Drawer;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-Djava.awt.headless=true"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public abstract class AbstractDrawerBenchmark<E> {
+
+  @Param({"100", "10000", "1000000"})
+  public int nOfPoints;
+  @Param({"1x1", "4x4"})
+  public String gridShape;
+  @Param({"500x500", "1920x1080"})
+  public String imageSize;
+
+  private Drawer<E> drawer;
+  private E e;
+  private Drawer.ImageInfo imageInfo;
+
+  protected abstract Drawer<E> drawer();
+
+  protected abstract E e(int nOfPoints, String gridShape);
+
+  @Setup(Level.Trial)
+  public void setup() {
+    drawer = drawer();
+    e = e(nOfPoints, gridShape);
+    imageInfo = Plots.imageInfo(imageSize);
+  }
+
+  @Benchmark
+  public BufferedImage raster() {
+    return drawer.buildRaster(imageInfo, e);
+  }
+
+  @Benchmark
+  public String svg() {
+    return drawer.buildVectorial(imageInfo, e);
+  }
+}
@@ -0,0 +1,148 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-benchmark
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.benchmark;
+
+import io.github.ericmedvet.jnb.datastructure.DoubleRange;
+import io.github.ericmedvet.jviz.core.plot.XYPlot;
+import io.github.ericmedvet.jviz.core.plot.accumulator.DistributionMRPAF;
+import io.github.ericmedvet.jviz.core.plot.accumulator.EAggregatedXYDataSeriesMKPAF;
+import io.github.ericmedvet.jviz.core.plot.accumulator.ESketchedXYDataSeriesMKPAF;
+import io.github.ericmedvet.jviz.core.plot.accumulator.KAggregatedXYDataSeriesMKPAF;
+import io.github.ericmedvet.jviz.core.plot.accumulator.PlotAccumulatorFactory;
+import io.github.ericmedvet.jviz.core.plot.accumulator.ScatterMRPAF;
+import io.github.ericmedvet.jviz.core.plot.accumulator.SketchedDistributionMRPAF;
+import io.github.ericmedvet.jviz.core.util.Misc;
+import io.github.ericmedvet.jviz.core.util.QuantileSketch;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import org.openjdk.jmh.annotations.Param;
+
+public class AccumulatorBenchmark extends AbstractAccumulatorBenchmark {
+
+  @Param({"E_AGGREGATED_XY", "K_AGGREGATED_XY", "E_SKETCHED_XY", "DISTRIBUTION", "SKETCHED_DISTRIBUTION", "SCATTER"})
+  public Type type;
+  @Param({"false", "true"})
+  public boolean concurrent;
+
+  public enum Type {
+    E_AGGREGATED_XY, K_AGGREGATED_XY, E_SKETCHED_XY, DISTRIBUTION, SKETCHED_DISTRIBUTION, SCATTER
+  }
+
+  @Override
+  protected PlotAccumulatorFactory<Event, ? extends XYPlot<?>, Run, ?> factory() {
+    Function<Run, String> xSubplotF = named(Run::xSubplot, "x.subplot");
+    Function<Run, String> ySubplotF = named(Run::ySubplot, "y.subplot");
+    Function<Run, String> lineF = named(Run::line, "line");
+    Function<Event, Number> iterationF = named(Event::iteration, "iteration");
+    Function<Event, Number> valueF = named(Event::value, "value");
+    Function<List<Number>, Number> medianF = vs -> Misc.median(vs.stream().mapToDouble(Number::doubleValue).toArray());
+    Function<List<Number>, Number> q1F = vs -> Misc.percentile(
+        vs.stream().map(Number::doubleValue).toList(),
+        Double::compareTo,
+        0.25
+    );
+    Function<List<Number>, Number> q3F = vs -> Misc.percentile(
+        vs.stream().map(Number::doubleValue).toList(),
+        Double::compareTo,
+        0.75
+    );
+    UnaryOperator<List<Number>> lastFilter = vs -> List.of(vs.getLast());
+    return switch (type) {
+      case E_AGGREGATED_XY -> new EAggregatedXYDataSeriesMKPAF<>(
+          xSubplotF,
+          ySubplotF,
+          lineF,
+          valueF,
+          medianF,
+          q1F,
+          q3F,
+          lastFilter,
+          DoubleRange.UNBOUNDED,
+          DoubleRange.UNBOUNDED,
+          iterationF,
+          concurrent
+      );
+      case K_AGGREGATED_XY -> new KAggregatedXYDataSeriesMKPAF<>(
+          xSubplotF,
+          ySubplotF,
+          lineF,
+          valueF,
+          medianF,
+          q1F,
+          q3F,
+          UnaryOperator.identity(),
+          DoubleRange.UNBOUNDED,
+          DoubleRange.UNBOUNDED,
+          named(Run::seed, "seed"),
+          concurrent
+      );
+      case E_SKETCHED_XY -> new ESketchedXYDataSeriesMKPAF<>(
+          xSubplotF,
+          ySubplotF,
+          lineF,
+          valueF,
+          QuantileSketch::median,
+          sketch -> sketch.quantile(0.25),
+          sketch -> sketch.quantile(0.75),
+          QuantileSketch.DEFAULT_K,
+          DoubleRange.UNBOUNDED,
+          DoubleRange.UNBOUNDED,
+          iterationF,
+          concurrent
+      );
+      case SKETCHED_DISTRIBUTION -> new SketchedDistributionMRPAF<>(
+          xSubplotF,
+          ySubplotF,
+          lineF,
+          valueF,
+          named(Event::iteration, "iteration"),
+          i -> i >= 0,
+          QuantileSketch.DEFAULT_K,
+          DoubleRange.UNBOUNDED,
+          concurrent
+      );
+      case DISTRIBUTION -> new DistributionMRPAF<>(
+          xSubplotF,
+          ySubplotF,
+          lineF,
+          valueF,
+          named(Event::iteration, "iteration"),
+          i -> i >= 0,
+          UnaryOperator.identity(),
+          DoubleRange.UNBOUNDED,
+          concurrent
+      );
+      case SCATTER -> new ScatterMRPAF<>(
+          xSubplotF,
+          ySubplotF,
+          lineF,
+          iterationF,
+          valueF,
+          named(Event::iteration, "iteration"),
+          i -> i >= 0,
+          UnaryOperator.identity(),
+          DoubleRange.UNBOUNDED,
+          DoubleRange.UNBOUNDED,
+          concurrent
+      );
+    };
+  }
+}
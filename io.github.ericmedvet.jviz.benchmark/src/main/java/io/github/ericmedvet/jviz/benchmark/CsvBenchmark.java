@@ -0,0 +1,104 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-benchmark
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.benchmark;
+
+import io.github.ericmedvet.jnb.datastructure.Grid;
+import io.github.ericmedvet.jviz.core.plot.csv.Configuration;
+import io.github.ericmedvet.jviz.core.plot.csv.DistributionPlotCsvBuilder;
+import io.github.ericmedvet.jviz.core.plot.csv.LandscapePlotCsvBuilder;
+import io.github.ericmedvet.jviz.core.plot.csv.UnivariateGridPlotCsvBuilder;
+import io.github.ericmedvet.jviz.core.plot.csv.VectorialFieldPlotCsvBuilder;
+import io.github.ericmedvet.jviz.core.plot.csv.XYDataSeriesPlotCsvBuilder;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CsvBenchmark {
+
+  @Param({"XY", "DISTRIBUTION", "LANDSCAPE", "UNIVARIATE_GRID", "VECTORIAL_FIELD"})
+  public Type type;
+  @Param({"NORMAL", "PAPER_FRIENDLY"})
+  public Configuration.Mode mode;
+  @Param({"100", "10000", "1000000"})
+  public int nOfPoints;
+  @Param({"1x1", "3x2", "4x4"})
+  public String gridShape;
+
+  private Supplier<String> builder;
+
+  public enum Type {
+    XY, DISTRIBUTION, LANDSCAPE, UNIVARIATE_GRID, VECTORIAL_FIELD
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Configuration c = Configuration.DEFAULTS.get(mode);
+    Grid.Key shape = Plots.shape(gridShape);
+    builder = switch (type) {
+      case XY -> {
+        XYDataSeriesPlotCsvBuilder b = new XYDataSeriesPlotCsvBuilder(c, mode);
+        var p = Plots.xy(nOfPoints, shape, true);
+        yield () -> b.apply(p);
+      }
+      case DISTRIBUTION -> {
+        DistributionPlotCsvBuilder b = new DistributionPlotCsvBuilder(c, mode);
+        var p = Plots.distribution(nOfPoints, shape);
+        yield () -> b.apply(p);
+      }
+      case LANDSCAPE -> {
+        LandscapePlotCsvBuilder b = new LandscapePlotCsvBuilder(c, mode);
+        var p = Plots.landscape(nOfPoints, shape);
+        yield () -> b.apply(p);
+      }
+      case UNIVARIATE_GRID -> {
+        UnivariateGridPlotCsvBuilder b = new UnivariateGridPlotCsvBuilder(c, mode);
+        var p = Plots.univariateGrid(nOfPoints, shape);
+        yield () -> b.apply(p);
+      }
+      case VECTORIAL_FIELD -> {
+        VectorialFieldPlotCsvBuilder b = new VectorialFieldPlotCsvBuilder(c, mode);
+        var p = Plots.vectorialField(nOfPoints, shape);
+        yield () -> b.apply(p);
+      }
+    };
+  }
+
+  @Benchmark
+  public String build() {
+    return builder.get();
+  }
+}
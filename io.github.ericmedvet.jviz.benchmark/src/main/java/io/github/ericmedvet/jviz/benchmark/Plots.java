@@ -0,0 +1,230 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-benchmark
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.benchmark;
+
+import io.github.ericmedvet.jnb.datastructure.DoubleRange;
+import io.github.ericmedvet.jnb.datastructure.Grid;
+import io.github.ericmedvet.jviz.core.drawer.Drawer;
+import io.github.ericmedvet.jviz.core.plot.DistributionPlot;
+import io.github.ericmedvet.jviz.core.plot.LandscapePlot;
+import io.github.ericmedvet.jviz.core.plot.RangedValue;
+import io.github.ericmedvet.jviz.core.plot.UnivariateGridPlot;
+import io.github.ericmedvet.jviz.core.plot.Value;
+import io.github.ericmedvet.jviz.core.plot.VectorialFieldDataSeries;
+import io.github.ericmedvet.jviz.core.plot.VectorialFieldPlot;
+import io.github.ericmedvet.jviz.core.plot.XYDataSeries;
+import io.github.ericmedvet.jviz.core.plot.XYDataSeriesPlot;
+import io.github.ericmedvet.jviz.core.plot.XYPlot.TitledData;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+public class Plots {
+
+  public static final int N_OF_SERIES = 3;
+  private static final long SEED = 1;
+
+  private Plots() {
+  }
+
+  public static Grid.Key shape(String s) {
+    String[] tokens = s.toLowerCase().split("x");
+    return new Grid.Key(Integer.parseInt(tokens[0]), Integer.parseInt(tokens[1]));
+  }
+
+  public static Drawer.ImageInfo imageInfo(String s) {
+    Grid.Key k = shape(s);
+    return new Drawer.ImageInfo(k.x(), k.y());
+  }
+
+  public static XYDataSeriesPlot xy(int nOfPoints, Grid.Key gridShape, boolean ranged) {
+    RandomGenerator rg = new Random(SEED);
+    return new XYDataSeriesPlot(
+        "xy",
+        "x title",
+        "y title",
+        "x",
+        "y",
+        DoubleRange.UNBOUNDED,
+        DoubleRange.UNBOUNDED,
+        Grid.create(
+            gridShape.x(),
+            gridShape.y(),
+            (gX, gY) -> new TitledData<>(
+                "gx=%d".formatted(gX),
+                "gy=%d".formatted(gY),
+                IntStream.range(0, N_OF_SERIES)
+                    .mapToObj(
+                        i -> XYDataSeries.of(
+                            "s%d".formatted(i),
+                            IntStream.range(0, nOfPoints / N_OF_SERIES)
+                                .mapToObj(j -> {
+                                  double y = Math.sin((1 + i) * j / (double) nOfPoints) + rg.nextGaussian(0, 0.1);
+                                  return new XYDataSeries.Point(
+                                      Value.of(j),
+                                      ranged ? RangedValue.of(y, y - rg.nextDouble(), y + rg.nextDouble()) : Value.of(
+                                          y
+                                      )
+                                  );
+                                })
+                                .toList()
+                        )
+                    )
+                    .toList()
+            )
+        )
+    );
+  }
+
+  public static DistributionPlot distribution(int nOfPoints, Grid.Key gridShape) {
+    RandomGenerator rg = new Random(SEED);
+    return new DistributionPlot(
+        "distribution",
+        "x title",
+        "y title",
+        "x",
+        "y",
+        DoubleRange.UNBOUNDED,
+        Grid.create(
+            gridShape.x(),
+            gridShape.y(),
+            (gX, gY) -> new TitledData<>(
+                "gx=%d".formatted(gX),
+                "gy=%d".formatted(gY),
+                IntStream.range(0, N_OF_SERIES)
+                    .mapToObj(
+                        i -> new DistributionPlot.Data(
+                            "s%d".formatted(i),
+                            IntStream.range(0, nOfPoints / N_OF_SERIES)
+                                .mapToObj(j -> rg.nextGaussian(i, 1 + i))
+                                .toList()
+                        )
+                    )
+                    .toList()
+            )
+        )
+    );
+  }
+
+  public static LandscapePlot landscape(int nOfPoints, Grid.Key gridShape) {
+    RandomGenerator rg = new Random(SEED);
+    return new LandscapePlot(
+        "landscape",
+        "x title",
+        "y title",
+        "x1",
+        "x2",
+        DoubleRange.UNBOUNDED,
+        DoubleRange.UNBOUNDED,
+        DoubleRange.UNBOUNDED,
+        Grid.create(
+            gridShape.x(),
+            gridShape.y(),
+            (gX, gY) -> new TitledData<>(
+                "gx=%d".formatted(gX),
+                "gy=%d".formatted(gY),
+                new LandscapePlot.Data(
+                    (x1, x2) -> Math.sin((1 + gX) * x1) * Math.log(1 + gY + Math.abs(x2)),
+                    IntStream.range(0, N_OF_SERIES)
+                        .mapToObj(
+                            i -> XYDataSeries.of(
+                                "s%d".formatted(i),
+                                IntStream.range(0, nOfPoints / N_OF_SERIES)
+                                    .mapToObj(
+                                        j -> new XYDataSeries.Point(
+                                            Value.of(rg.nextGaussian(0, 1 + i)),
+                                            Value.of(rg.nextGaussian(0, 1 + i))
+                                        )
+                                    )
+                                    .toList()
+                            )
+                        )
+                        .toList()
+                )
+            )
+        )
+    );
+  }
+
+  public static UnivariateGridPlot univariateGrid(int nOfCells, Grid.Key gridShape) {
+    int side = (int) Math.max(1, Math.round(Math.sqrt(nOfCells)));
+    return new UnivariateGridPlot(
+        "grid",
+        "x title",
+        "y title",
+        "x",
+        "y",
+        DoubleRange.UNBOUNDED,
+        DoubleRange.UNBOUNDED,
+        DoubleRange.UNBOUNDED,
+        Grid.create(
+            gridShape.x(),
+            gridShape.y(),
+            (gX, gY) -> new TitledData<>(
+                "gx=%d".formatted(gX),
+                "gy=%d".formatted(gY),
+                Grid.create(
+                    side,
+                    side,
+                    (x, y) -> Math.sin((double) x / (1 + gX) + (double) y / (1 + gY))
+                )
+            )
+        )
+    );
+  }
+
+  public static VectorialFieldPlot vectorialField(int nOfArrows, Grid.Key gridShape) {
+    int side = (int) Math.max(2, Math.round(Math.sqrt(nOfArrows)));
+    return new VectorialFieldPlot(
+        "field",
+        "x title",
+        "y title",
+        "x",
+        "y",
+        DoubleRange.UNBOUNDED,
+        DoubleRange.UNBOUNDED,
+        Grid.create(
+            gridShape.x(),
+            gridShape.y(),
+            (gX, gY) -> {
+              Map<VectorialFieldDataSeries.Point, VectorialFieldDataSeries.Point> pairs = new HashMap<>();
+              for (int x = 0; x < side; x = x + 1) {
+                for (int y = 0; y < side; y = y + 1) {
+                  double px = x / (side - 1d);
+                  double py = y / (side - 1d);
+                  pairs.put(
+                      new VectorialFieldDataSeries.Point(px, py),
+                      new VectorialFieldDataSeries.Point(Math.sin(px * (1 + gX)), Math.cos(py * (1 + gY)))
+                  );
+                }
+              }
+              return new TitledData<>(
+                  "gx=%d".formatted(gX),
+                  "gy=%d".formatted(gY),
+                  List.of(VectorialFieldDataSeries.of("field", pairs))
+              );
+            }
+        )
+    );
+  }
+}
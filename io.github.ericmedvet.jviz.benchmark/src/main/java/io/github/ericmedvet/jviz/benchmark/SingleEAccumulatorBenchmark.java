@@ -0,0 +1,69 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-benchmark
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.benchmark;
+
+import io.github.ericmedvet.jnb.datastructure.DoubleRange;
+import io.github.ericmedvet.jviz.core.plot.XYPlot;
+import io.github.ericmedvet.jviz.core.plot.accumulator.PlotAccumulatorFactory;
+import io.github.ericmedvet.jviz.core.plot.accumulator.UnivariateGridSEPAF;
+import io.github.ericmedvet.jviz.core.plot.accumulator.XYDataSeriesSEPAF;
+import java.util.Collection;
+import java.util.List;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks of the single-E plot accumulators, which, differently than the ones of {@link AccumulatorBenchmark}, have
+ * no concurrent storage mode.
+ */
+public class SingleEAccumulatorBenchmark extends AbstractAccumulatorBenchmark {
+
+  @Param({"XY_SE", "GRID_SE"})
+  public Type type;
+
+  public enum Type {
+    XY_SE, GRID_SE
+  }
+
+  @Override
+  protected PlotAccumulatorFactory<Event, ? extends XYPlot<?>, Run, ?> factory() {
+    return switch (type) {
+      case XY_SE -> new XYDataSeriesSEPAF<Event, Run, Integer, double[]>(
+          named(r -> "run %d".formatted(r.seed()), "title"),
+          named(Event::iteration, "iteration"),
+          i -> i % 10 == 0,
+          false,
+          List.of(named(e -> (Collection<double[]>) e.points(), "points")),
+          named(p -> p[0], "x"),
+          named(p -> p[1], "y"),
+          DoubleRange.UNBOUNDED,
+          DoubleRange.UNBOUNDED
+      );
+      case GRID_SE -> new UnivariateGridSEPAF<Event, Run, Integer, Double>(
+          named(r -> "run %d".formatted(r.seed()), "title"),
+          named(Event::iteration, "iteration"),
+          i -> i % 10 == 0,
+          false,
+          List.of(named(Event::grid, "grid")),
+          List.of(named(v -> v, "v")),
+          DoubleRange.UNBOUNDED
+      );
+    };
+  }
+}
@@ -0,0 +1,37 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-benchmark
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.benchmark;
+
+import io.github.ericmedvet.jviz.core.drawer.Drawer;
+import io.github.ericmedvet.jviz.core.plot.UnivariateGridPlot;
+import io.github.ericmedvet.jviz.core.plot.image.UnivariateGridPlotDrawer;
+
+public class UnivariateGridPlotDrawerBenchmark extends AbstractDrawerBenchmark<UnivariateGridPlot> {
+
+  @Override
+  protected Drawer<UnivariateGridPlot> drawer() {
+    return new UnivariateGridPlotDrawer();
+  }
+
+  @Override
+  protected UnivariateGridPlot e(int nOfPoints, String gridShape) {
+    return Plots.univariateGrid(nOfPoints, Plots.shape(gridShape));
+  }
+}
@@ -0,0 +1,88 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-benchmark
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.benchmark;
+
+import io.github.ericmedvet.jviz.core.drawer.Drawer;
+import io.github.ericmedvet.jviz.core.drawer.VideoBuilder;
+import io.github.ericmedvet.jviz.core.plot.XYDataSeriesPlot;
+import io.github.ericmedvet.jviz.core.plot.image.LinesPlotDrawer;
+import io.github.ericmedvet.jviz.core.util.VideoUtils;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-Djava.awt.headless=true"})
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class VideoBenchmark {
+
+  private static final double FRAME_RATE = 20;
+  private static final int N_OF_POINTS = 1000;
+
+  @Param({"10", "100", "500"})
+  public int nOfFrames;
+  @Param({"500x500", "1000x800", "1920x1080"})
+  public String imageSize;
+  @Param({"JCODEC", "FFMPEG_SMALL"})
+  public VideoUtils.EncoderFacility encoder;
+
+  private LinesPlotDrawer drawer;
+  private VideoBuilder.VideoInfo videoInfo;
+  private List<XYDataSeriesPlot> plots;
+  private List<BufferedImage> images;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    drawer = new LinesPlotDrawer();
+    Drawer.ImageInfo imageInfo = Plots.imageInfo(imageSize);
+    videoInfo = new VideoBuilder.VideoInfo(imageInfo.w(), imageInfo.h(), encoder);
+    plots = IntStream.range(0, nOfFrames)
+        .mapToObj(i -> Plots.xy(N_OF_POINTS + i * 10, Plots.shape("1x1"), true))
+        .toList();
+    images = plots.stream().map(p -> drawer.buildRaster(imageInfo, p)).toList();
+  }
+
+  @Benchmark
+  public byte[] encode() throws IOException {
+    return VideoUtils.encode(images, FRAME_RATE, encoder);
+  }
+
+  @Benchmark
+  public byte[] renderAndEncode() throws IOException {
+    return VideoUtils.encode(VideoBuilder.frameSource(drawer, videoInfo, plots), FRAME_RATE, encoder);
+  }
+}
@@ -52,6 +52,7 @@ import io.github.ericmedvet.jviz.core.plot.video.LinesPlotVideoBuilder;
 import io.github.ericmedvet.jviz.core.plot.video.PointsPlotVideoBuilder;
 import io.github.ericmedvet.jviz.core.plot.video.UnivariatePlotVideoBuilder;
 import io.github.ericmedvet.jviz.core.plot.video.VectorialFieldVideoBuilder;
+import io.github.ericmedvet.jviz.core.util.PngEncoder;
 import io.github.ericmedvet.jviz.core.util.VideoUtils;
 import java.util.List;
 import java.util.function.BiFunction;
@@ -112,21 +113,25 @@ public class Functions {
       @Param(value = "h", dI = -1) int h,
       @Param(value = "configuration", dNPM = "viz.plot.configuration.image()") Configuration configuration,
       @Param("secondary") boolean secondary,
-      @Param(value = "type", dS = "png") String type
+      @Param(value = "type", dS = "png") String type,
+      @Param(value = "pngCompressionLevel", dI = PngEncoder.DEFAULT_COMPRESSION_LEVEL) int pngCompressionLevel,
+      @Param(value = "pngFilter", dS = "adaptive") PngEncoder.Filter pngFilter
   ) {
     UnaryOperator<ImageInfo> iiAdapter = ii -> new Drawer.ImageInfo(
         w == -1 ? ii.w() : w,
         h == -1 ? ii.h() : h
     );
+    PngEncoder pngEncoder = new PngEncoder(pngCompressionLevel, pngFilter);
     class ConditionedDrawer<Y> implements BiFunction<Drawer<Y>, Y, Object> {
 
       @Override
       public Object apply(Drawer<Y> drawer, Y y) {
         return switch (type.toLowerCase()) {
           case "png" -> drawer.buildRaster(iiAdapter.apply(drawer.imageInfo(y)), y);
+          case "encoded_png" -> pngEncoder.encode(drawer.buildRaster(iiAdapter.apply(drawer.imageInfo(y)), y));
           case "svg" -> drawer.buildVectorial(iiAdapter.apply(drawer.imageInfo(y)), y);
           default -> throw new IllegalArgumentException(
-              "Invalid type '%s', which is not 'png' nor 'svg'".formatted(type)
+              "Invalid type '%s', which is not 'png', 'encoded_png', nor 'svg'".formatted(type)
           );
         };
       }
@@ -206,7 +211,8 @@ public class Functions {
       @Param(value = "w", dI = -1) int w,
       @Param(value = "h", dI = -1) int h,
       @Param(value = "frameRate", dD = 10) double frameRate,
-      @Param(value = "encoder", dS = "default") VideoUtils.EncoderFacility encoder
+      @Param(value = "encoder", dS = "default") VideoUtils.EncoderFacility encoder,
+      @Param(value = "nOfThreads", dI = 1) int nOfThreads
   ) {
     UnaryOperator<VideoBuilder.VideoInfo> viAdapter = vi -> new VideoBuilder.VideoInfo(
         w == -1 ? vi.w() : w,
@@ -216,7 +222,8 @@ public class Functions {
     VideoBuilder<List<D>> videoBuilder = VideoBuilder.from(
         drawer,
         Function.identity(),
-        frameRate
+        frameRate,
+        nOfThreads
     );
     Function<List<D>, Video> f = ds -> {
       if (w == -1 && h == -1) {
@@ -285,7 +292,8 @@ public class Functions {
       @Param(value = "encoder", dS = "default") VideoUtils.EncoderFacility encoder,
       @Param(value = "frameRate", dD = 10) double frameRate,
       @Param(value = "configuration", dNPM = "viz.plot.configuration.image()") Configuration iConfiguration,
-      @Param("secondary") boolean secondary
+      @Param("secondary") boolean secondary,
+      @Param(value = "nOfThreads", dI = 1) int nOfThreads
   ) {
     UnaryOperator<VideoBuilder.VideoInfo> viAdapter = vi -> new VideoBuilder.VideoInfo(
         w == -1 ? vi.w() : w,
@@ -294,7 +302,8 @@ public class Functions {
     );
     io.github.ericmedvet.jviz.core.plot.video.Configuration vConfiguration = new io.github.ericmedvet.jviz.core.plot.video.Configuration(
         io.github.ericmedvet.jviz.core.plot.video.Configuration.DEFAULT.splitType(),
-        frameRate
+        frameRate,
+        nOfThreads
     );
     Function<P, Video> f = p -> {
       if (p instanceof DistributionPlot dp) {
@@ -23,11 +23,16 @@ import io.github.ericmedvet.jnb.core.Discoverable;
 import io.github.ericmedvet.jnb.core.Param;
 import io.github.ericmedvet.jnb.datastructure.DoubleRange;
 import io.github.ericmedvet.jviz.core.plot.XYDataSeries;
-import io.github.ericmedvet.jviz.core.plot.accumulator.AggregatedXYDataSeriesMKPAF;
+import io.github.ericmedvet.jviz.core.plot.accumulator.AbstractDistributionMRPAF;
+import io.github.ericmedvet.jviz.core.plot.accumulator.AbstractXYDataSeriesMKPAF;
 import io.github.ericmedvet.jviz.core.plot.accumulator.DistributionMRPAF;
 import io.github.ericmedvet.jviz.core.plot.accumulator.EAggregatedXYDataSeriesMKPAF;
+import io.github.ericmedvet.jviz.core.plot.accumulator.ESketchedXYDataSeriesMKPAF;
 import io.github.ericmedvet.jviz.core.plot.accumulator.KAggregatedXYDataSeriesMKPAF;
+import io.github.ericmedvet.jviz.core.plot.accumulator.KSketchedXYDataSeriesMKPAF;
 import io.github.ericmedvet.jviz.core.plot.accumulator.ScatterMRPAF;
+import io.github.ericmedvet.jviz.core.plot.accumulator.SketchedDistributionMRPAF;
+import io.github.ericmedvet.jviz.core.util.QuantileSketch;
 import java.util.List;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -38,6 +43,11 @@ public class MultiPlots {
   private MultiPlots() {
   }
 
+  @SuppressWarnings("unchecked")
+  private static <T> Function<? super T, ? extends Number> xFunction(Function<?, ? extends Number> xFunction) {
+    return (Function<? super T, ? extends Number>) xFunction;
+  }
+
   @SuppressWarnings("unused")
   public static <E, K, X> ScatterMRPAF<E, K, String, X> scatter(
       @Param("xSubplot") Function<? super K, String> xSubplotFunction,
@@ -49,7 +59,8 @@ public class MultiPlots {
       @Param(value = "condition", dNPM = "predicate.gtEq(t=1)") Predicate<X> condition,
       @Param(value = "xRange", dNPM = "m.range(min=-Infinity;max=Infinity)") DoubleRange xRange,
       @Param(value = "yRange", dNPM = "m.range(min=-Infinity;max=Infinity)") DoubleRange yRange,
-      @Param(value = "limitOneYForK", dB = true) boolean limitOneYForK
+      @Param(value = "limitOneYForK", dB = true) boolean limitOneYForK,
+      @Param("concurrent") boolean concurrent
   ) {
     UnaryOperator<List<XYDataSeries.Point>> rFilter = limitOneYForK ? values -> List.of(
         values.getLast()
@@ -65,12 +76,13 @@ public class MultiPlots {
         condition,
         rFilter,
         xRange,
-        yRange
+        yRange,
+        concurrent
     );
   }
 
   @SuppressWarnings("unused")
-  public static <E, R> AggregatedXYDataSeriesMKPAF<E, R, String> xy(
+  public static <E, R> AbstractXYDataSeriesMKPAF<E, R, String, ?> xy(
       @Param("xSubplot") Function<? super R, String> xSubplotFunction,
       @Param("ySubplot") Function<? super R, String> ySubplotFunction,
       @Param("line") Function<? super R, String> lineFunction,
@@ -82,12 +94,51 @@ public class MultiPlots {
       @Param(value = "xRange", dNPM = "m.range(min=-Infinity;max=Infinity)") DoubleRange xRange,
       @Param(value = "yRange", dNPM = "m.range(min=-Infinity;max=Infinity)") DoubleRange yRange,
       @Param(value = "limitOneYForK", dB = true) boolean limitOneYForK,
-      @Param("useKForX") boolean useKForX
+      @Param("useKForX") boolean useKForX,
+      @Param("concurrent") boolean concurrent,
+      @Param("sketchK") int sketchK,
+      @Param(value = "sketchValueQuantile", dD = 0.5) double sketchValueQuantile,
+      @Param(value = "sketchMinQuantile", dD = 0.25) double sketchMinQuantile,
+      @Param(value = "sketchMaxQuantile", dD = 0.75) double sketchMaxQuantile
   ) {
+    if (sketchK > 0) {
+      Function<QuantileSketch, Number> sketchValueAggregator = sketch -> sketch.quantile(sketchValueQuantile);
+      Function<QuantileSketch, Number> sketchMinAggregator = sketch -> sketch.quantile(sketchMinQuantile);
+      Function<QuantileSketch, Number> sketchMaxAggregator = sketch -> sketch.quantile(sketchMaxQuantile);
+      if (useKForX) {
+        return new KSketchedXYDataSeriesMKPAF<>(
+            xSubplotFunction,
+            ySubplotFunction,
+            lineFunction,
+            yFunction,
+            sketchValueAggregator,
+            sketchMinAggregator,
+            sketchMaxAggregator,
+            sketchK,
+            xRange,
+            yRange,
+            MultiPlots.<R>xFunction(xFunction),
+            concurrent
+        );
+      }
+      return new ESketchedXYDataSeriesMKPAF<>(
+          xSubplotFunction,
+          ySubplotFunction,
+          lineFunction,
+          yFunction,
+          sketchValueAggregator,
+          sketchMinAggregator,
+          sketchMaxAggregator,
+          sketchK,
+          xRange,
+          yRange,
+          MultiPlots.<E>xFunction(xFunction),
+          concurrent
+      );
+    }
     UnaryOperator<List<Number>> rFilter = limitOneYForK ? values -> List.of(values.getLast()) : UnaryOperator
         .identity();
     if (useKForX) {
-      //noinspection unchecked
       return new KAggregatedXYDataSeriesMKPAF<>(
           xSubplotFunction,
           ySubplotFunction,
@@ -99,10 +150,10 @@ public class MultiPlots {
           rFilter,
           xRange,
           yRange,
-          (Function<? super R, ? extends Number>) xFunction
+          MultiPlots.<R>xFunction(xFunction),
+          concurrent
       );
     }
-    //noinspection unchecked
     return new EAggregatedXYDataSeriesMKPAF<>(
         xSubplotFunction,
         ySubplotFunction,
@@ -114,12 +165,13 @@ public class MultiPlots {
         rFilter,
         xRange,
         yRange,
-        (Function<? super E, ? extends Number>) xFunction
+        MultiPlots.<E>xFunction(xFunction),
+        concurrent
     );
   }
 
   @SuppressWarnings("unused")
-  public static <E, R, X> DistributionMRPAF<E, R, String, X> yBoxplot(
+  public static <E, R, X> AbstractDistributionMRPAF<E, R, String, X, ?> yBoxplot(
       @Param("xSubplot") Function<? super R, String> xSubplotFunction,
       @Param("ySubplot") Function<? super R, String> ySubplotFunction,
       @Param("box") Function<? super R, String> boxFunction,
@@ -127,8 +179,23 @@ public class MultiPlots {
       @Param("predicateValue") Function<E, X> predicateValueFunction,
       @Param(value = "condition", dNPM = "predicate.gtEq(t=1)") Predicate<X> condition,
       @Param(value = "yRange", dNPM = "m.range(min=-Infinity;max=Infinity)") DoubleRange yRange,
-      @Param(value = "limitOneYForK", dB = true) boolean limitOneYForK
+      @Param(value = "limitOneYForK", dB = true) boolean limitOneYForK,
+      @Param("concurrent") boolean concurrent,
+      @Param("sketchK") int sketchK
   ) {
+    if (sketchK > 0) {
+      return new SketchedDistributionMRPAF<>(
+          xSubplotFunction,
+          ySubplotFunction,
+          boxFunction,
+          yFunction,
+          predicateValueFunction,
+          condition,
+          sketchK,
+          yRange,
+          concurrent
+      );
+    }
     UnaryOperator<List<Number>> rFilter = limitOneYForK ? values -> List.of(values.getLast()) : UnaryOperator
         .identity();
     return new DistributionMRPAF<>(
@@ -139,7 +206,8 @@ public class MultiPlots {
         predicateValueFunction,
         condition,
         rFilter,
-        yRange
+        yRange,
+        concurrent
     );
   }
 
@@ -65,7 +65,9 @@ public class PlotConfigurations {
       @Param(value = "boxplotExtremeType", dS = "iqr_1_5") ExtremeType boxplotExtremeType,
       @Param(value = "boxplotMidType", dS = "median") MidType boxplotMidType,
       @Param("boxplotMarkers") boolean boxplotMarkers,
+      @Param(value = "boxplotMarkersDensityThreshold", dI = 10000) int boxplotMarkersDensityThreshold,
       @Param(value = "marker", dS = "circle") Marker marker,
+      @Param(value = "pointsDensityThreshold", dI = 100000) int pointsDensityThreshold,
       @Param("debug") boolean debug
   ) {
     return new Configuration(
@@ -105,7 +107,8 @@ public class PlotConfigurations {
             marker,
             PointsPlot.DEFAULT.colors(),
             PointsPlot.DEFAULT.xExtensionRate(),
-            PointsPlot.DEFAULT.yExtensionRate()
+            PointsPlot.DEFAULT.yExtensionRate(),
+            pointsDensityThreshold
         ),
         UnivariateGridPlot.DEFAULT,
         LandscapePlot.DEFAULT,
@@ -123,7 +126,8 @@ public class PlotConfigurations {
             BoxPlot.DEFAULT.colors(),
             BoxPlot.DEFAULT.yExtensionRate(),
             boxplotMarkers,
-            BoxPlot.DEFAULT.jitter()
+            BoxPlot.DEFAULT.jitter(),
+            boxplotMarkersDensityThreshold
         ),
         VectorialFieldPlot.DEFAULT,
         debug
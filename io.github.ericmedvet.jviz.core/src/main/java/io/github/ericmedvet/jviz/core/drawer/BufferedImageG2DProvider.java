@@ -31,11 +31,22 @@ public class BufferedImageG2DProvider implements G2DProvider<BufferedImage> {
   private final Graphics2D g2D;
 
   public BufferedImageG2DProvider(ImageInfo imageInfo) {
-    image = new BufferedImage(
-        imageInfo.w(),
-        imageInfo.h(),
-        BufferedImage.TYPE_3BYTE_BGR
+    this(
+        new BufferedImage(
+            imageInfo.w(),
+            imageInfo.h(),
+            BufferedImage.TYPE_3BYTE_BGR
+        ),
+        imageInfo
     );
+  }
+
+  public BufferedImageG2DProvider(ImageInfo imageInfo, RasterPool rasterPool) {
+    this(rasterPool.acquire(imageInfo, BufferedImage.TYPE_3BYTE_BGR), imageInfo);
+  }
+
+  private BufferedImageG2DProvider(BufferedImage image, ImageInfo imageInfo) {
+    this.image = image;
     g2D = image.createGraphics();
     g2D.setClip(new Rectangle2D.Double(0, 0, imageInfo.w(), imageInfo.h()));
     g2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
@@ -20,10 +20,13 @@
 package io.github.ericmedvet.jviz.core.drawer;
 
 import io.github.ericmedvet.jviz.core.util.Misc;
+import io.github.ericmedvet.jviz.core.util.PngEncoder;
+import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.geom.Rectangle2D.Double;
 import java.awt.image.BufferedImage;
@@ -31,9 +34,14 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 import javax.imageio.ImageIO;
 
 public interface Drawer<E> {
@@ -109,8 +117,16 @@ public interface Drawer<E> {
     return build(new BufferedImageG2DProvider(imageInfo), e);
   }
 
+  /**
+   * Builds the raster image of {@code e} on an image taken from {@code rasterPool}, which the caller should release
+   * back to the pool once done with it.
+   */
+  default BufferedImage buildRaster(ImageInfo imageInfo, E e, RasterPool rasterPool) {
+    return build(new BufferedImageG2DProvider(imageInfo, rasterPool), e);
+  }
+
   default String buildVectorial(ImageInfo imageInfo, E e) {
-    return build(new SvgG2DProvider(imageInfo), e);
+    return build(new StreamingSvgG2DProvider(imageInfo, new StringWriter()), e).toString();
   }
 
   void draw(Graphics2D g, E e);
@@ -122,18 +138,107 @@ public interface Drawer<E> {
   default Drawer<List<E>> multi(Arrangement arrangement) {
     Drawer<E> thisDrawer = this;
     return new Drawer<>() {
+
+      private ImageInfo allImageInfo(List<ImageInfo> imageInfos) {
+        return switch (arrangement) {
+          case HORIZONTAL -> new ImageInfo(
+              imageInfos.stream().mapToInt(ImageInfo::w).sum(),
+              imageInfos.stream().mapToInt(ImageInfo::h).max().orElse(0)
+          );
+          case VERTICAL -> new ImageInfo(
+              imageInfos.stream().mapToInt(ImageInfo::w).max().orElse(0),
+              imageInfos.stream().mapToInt(ImageInfo::h).sum()
+          );
+        };
+      }
+
+      /**
+       * Returns the positions, in the coordinates of the graphics on which the multi drawer draws, of the top-left
+       * corners of the elements, given the scales to apply to their images.
+       */
+      private List<Point2D> origins(List<ImageInfo> imageInfos, double wScale, double hScale) {
+        List<Point2D> origins = new ArrayList<>(imageInfos.size());
+        double x = 0;
+        double y = 0;
+        for (ImageInfo ii : imageInfos) {
+          origins.add(new Point2D.Double(x, y));
+          switch (arrangement) {
+            case HORIZONTAL -> x = x + ii.w() * wScale;
+            case VERTICAL -> y = y + ii.h() * hScale;
+          }
+        }
+        return origins;
+      }
+
+      @Override
+      public BufferedImage buildRaster(ImageInfo imageInfo, List<E> es) {
+        return buildRaster(new BufferedImageG2DProvider(imageInfo), es);
+      }
+
+      @Override
+      public BufferedImage buildRaster(ImageInfo imageInfo, List<E> es, RasterPool rasterPool) {
+        return buildRaster(new BufferedImageG2DProvider(imageInfo, rasterPool), es);
+      }
+
+      private BufferedImage buildRaster(BufferedImageG2DProvider provider, List<E> es) {
+        if (es.size() < 2) {
+          return build(provider, es);
+        }
+        List<ImageInfo> imageInfos = es.stream().map(thisDrawer::imageInfo).toList();
+        ImageInfo allII = allImageInfo(imageInfos);
+        Graphics2D g = provider.g2D();
+        clean(g);
+        Rectangle bounds = g.getClipBounds();
+        double wScale = bounds.getWidth() / allII.w();
+        double hScale = bounds.getHeight() / allII.h();
+        List<Point2D> origins = origins(imageInfos, wScale, hScale);
+        // each element is rendered in parallel on its own transparent tile, aligned to the pixel grid and including
+        // the pixels shared with the adjacent elements; tiles are then composited over the background
+        List<Rectangle> tileBounds = IntStream.range(0, es.size()).mapToObj(i -> {
+          Point2D o = origins.get(i);
+          int minX = (int) Math.floor(o.getX());
+          int minY = (int) Math.floor(o.getY());
+          return new Rectangle(
+              minX,
+              minY,
+              Math.max(1, (int) Math.ceil(o.getX() + imageInfos.get(i).w() * wScale) - minX),
+              Math.max(1, (int) Math.ceil(o.getY() + imageInfos.get(i).h() * hScale) - minY)
+          );
+        }).toList();
+        List<BufferedImage> tiles = IntStream.range(0, es.size()).parallel().mapToObj(i -> {
+          Rectangle tb = tileBounds.get(i);
+          ImageInfo ii = imageInfos.get(i);
+          BufferedImage tile = new BufferedImage(tb.width, tb.height, BufferedImage.TYPE_INT_ARGB);
+          Graphics2D tileG = tile.createGraphics();
+          tileG.setRenderingHints(g.getRenderingHints());
+          tileG.translate(origins.get(i).getX() - tb.x, origins.get(i).getY() - tb.y);
+          tileG.scale(wScale, hScale);
+          tileG.setClip(new Double(0, 0, ii.w(), ii.h()));
+          thisDrawer.draw(tileG, es.get(i));
+          tileG.dispose();
+          return tile;
+        }).toList();
+        g.setComposite(AlphaComposite.SrcOver);
+        for (int i = 0; i < tiles.size(); i++) {
+          g.drawImage(tiles.get(i), tileBounds.get(i).x, tileBounds.get(i).y, null);
+        }
+        g.dispose();
+        return provider.output();
+      }
+
       @Override
       public void draw(Graphics2D g, List<E> es) {
-        ImageInfo allII = imageInfo(es);
+        List<ImageInfo> imageInfos = es.stream().map(thisDrawer::imageInfo).toList();
+        ImageInfo allII = allImageInfo(imageInfos);
         Rectangle bounds = g.getClipBounds();
         double wScale = bounds.getWidth() / allII.w();
         double hScale = bounds.getHeight() / allII.h();
         g.scale(wScale, hScale);
-        for (E e : es) {
-          ImageInfo ii = thisDrawer.imageInfo(e);
+        for (int i = 0; i < es.size(); i++) {
+          ImageInfo ii = imageInfos.get(i);
           g.setClip(new Double(0, 0, ii.w(), ii.h()));
           AffineTransform preTransform = g.getTransform();
-          thisDrawer.draw(g, e);
+          thisDrawer.draw(g, es.get(i));
           g.setTransform(preTransform);
           g.translate(
               switch (arrangement) {
@@ -150,17 +255,7 @@ public interface Drawer<E> {
 
       @Override
       public ImageInfo imageInfo(List<E> es) {
-        List<ImageInfo> imageInfos = es.stream().map(thisDrawer::imageInfo).toList();
-        return switch (arrangement) {
-          case HORIZONTAL -> new ImageInfo(
-              imageInfos.stream().mapToInt(ImageInfo::w).sum(),
-              imageInfos.stream().mapToInt(ImageInfo::h).max().orElse(0)
-          );
-          case VERTICAL -> new ImageInfo(
-              imageInfos.stream().mapToInt(ImageInfo::w).max().orElse(0),
-              imageInfos.stream().mapToInt(ImageInfo::h).sum()
-          );
-        };
+        return allImageInfo(es.stream().map(thisDrawer::imageInfo).toList());
       }
     };
   }
@@ -168,6 +263,16 @@ public interface Drawer<E> {
   default <F> Drawer<F> on(Function<? super F, ? extends E> function) {
     Drawer<E> thisDrawer = this;
     return new Drawer<>() {
+      @Override
+      public BufferedImage buildRaster(ImageInfo imageInfo, F f) {
+        return thisDrawer.buildRaster(imageInfo, function.apply(f));
+      }
+
+      @Override
+      public BufferedImage buildRaster(ImageInfo imageInfo, F f, RasterPool rasterPool) {
+        return thisDrawer.buildRaster(imageInfo, function.apply(f), rasterPool);
+      }
+
       @Override
       public void draw(Graphics2D g2D, F f) {
         thisDrawer.draw(g2D, function.apply(f));
@@ -187,10 +292,13 @@ public interface Drawer<E> {
       E e
   ) throws IOException {
     if (formatName.equalsIgnoreCase("svg")) {
-      String content = buildVectorial(imageInfo, e);
-      try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-        writer.write(content);
+      try (BufferedWriter writer = new BufferedWriter(new FileWriter(file, StandardCharsets.UTF_8))) {
+        build(new StreamingSvgG2DProvider(imageInfo, writer), e);
+      } catch (UncheckedIOException ex) {
+        throw ex.getCause();
       }
+    } else if (formatName.equalsIgnoreCase("png")) {
+      new PngEncoder().write(buildRaster(imageInfo, e), file);
     } else {
       ImageIO.write(buildRaster(imageInfo, e), formatName, file);
     }
@@ -0,0 +1,87 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-core
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.core.drawer;
+
+import java.awt.image.BufferedImage;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A thread-safe pool of {@link BufferedImage}s, keyed by size and pixel type, for reusing rasters which are
+ * short-lived, as video frames. Released images are kept, up to {@code maxIdleImagesPerKey} for each key, and handed
+ * out again by {@link #acquire(Drawer.ImageInfo, int)}: their content is not cleared by the pool, since
+ * {@link Drawer#build(G2DProvider, Object)} already fills the whole image with the background color. An image must not
+ * be used after it has been released.
+ */
+public class RasterPool {
+
+  public static final int DEFAULT_MAX_IDLE_IMAGES_PER_KEY = 4;
+
+  private final int maxIdleImagesPerKey;
+  private final Map<Key, Idle> idleImages;
+
+  public RasterPool(int maxIdleImagesPerKey) {
+    if (maxIdleImagesPerKey < 1) {
+      throw new IllegalArgumentException(
+          "Max number of idle images must be positive: %d found".formatted(maxIdleImagesPerKey)
+      );
+    }
+    this.maxIdleImagesPerKey = maxIdleImagesPerKey;
+    idleImages = new ConcurrentHashMap<>();
+  }
+
+  public RasterPool() {
+    this(DEFAULT_MAX_IDLE_IMAGES_PER_KEY);
+  }
+
+  private record Idle(Deque<BufferedImage> images, AtomicInteger size) {}
+
+  private record Key(int w, int h, int type) {}
+
+  public BufferedImage acquire(Drawer.ImageInfo imageInfo, int type) {
+    Idle idle = idleImages.get(new Key(imageInfo.w(), imageInfo.h(), type));
+    if (idle != null) {
+      BufferedImage image = idle.images().pollFirst();
+      if (image != null) {
+        idle.size().decrementAndGet();
+        return image;
+      }
+    }
+    return new BufferedImage(imageInfo.w(), imageInfo.h(), type);
+  }
+
+  public void release(BufferedImage image) {
+    if (image.getType() == BufferedImage.TYPE_CUSTOM) {
+      return;
+    }
+    Idle idle = idleImages.computeIfAbsent(
+        new Key(image.getWidth(), image.getHeight(), image.getType()),
+        k -> new Idle(new ConcurrentLinkedDeque<>(), new AtomicInteger())
+    );
+    if (idle.size().incrementAndGet() <= maxIdleImagesPerKey) {
+      idle.images().addFirst(image);
+    } else {
+      idle.size().decrementAndGet();
+    }
+  }
+}
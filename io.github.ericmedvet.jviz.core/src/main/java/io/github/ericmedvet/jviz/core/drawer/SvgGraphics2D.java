@@ -0,0 +1,591 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-core
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.core.drawer;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Paint;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.TextAttribute;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.text.AttributedCharacterIterator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.imageio.ImageIO;
+import org.apache.batik.ext.awt.g2d.AbstractGraphics2D;
+import org.apache.batik.ext.awt.g2d.GraphicContext;
+import org.apache.batik.ext.awt.g2d.TransformStackElement;
+
+/**
+ * A {@link Graphics2D} which writes SVG elements to a {@link Writer} as drawing happens, without building a DOM.
+ * Shapes are written as paths in device coordinates; text is written as {@code text} elements with the transform
+ * resulting from the graphics and font transforms; images are embedded as PNG data URIs. Consecutive elements with the
+ * same clip are grouped in a {@code g} element referring to a single {@code clipPath}. Only {@link Color} paints are
+ * supported: other paints are rendered with the current color. Graphics obtained with {@link #create()} write on the
+ * same writer; the document has to be completed with {@link #finish()}. Errors of the writer are rethrown as
+ * {@link UncheckedIOException}.
+ */
+public class SvgGraphics2D extends AbstractGraphics2D {
+
+  private static final Graphics2D METRICS_GRAPHICS = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB)
+      .createGraphics();
+
+  private final Output output;
+
+  public SvgGraphics2D(Writer writer, int w, int h) {
+    super(false);
+    gc = new DeviceClipGraphicContext();
+    output = new Output(writer, new Rectangle(0, 0, w, h));
+    output.write(
+        "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n<svg xmlns=\"http://www.w3.org/2000/svg\""
+            + " xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\"" + w + "\" height=\"" + h
+            + "\" viewBox=\"0 0 " + w + " " + h + "\">\n"
+    );
+  }
+
+  private SvgGraphics2D(SvgGraphics2D g) {
+    super(g);
+    output = g.output;
+  }
+
+  private static class DeviceClipGraphicContext extends GraphicContext {
+
+    @Override
+    public void setClip(Shape userClip) {
+      super.setClip(userClip);
+      if (userClip instanceof Rectangle2D r && transform.getShearX() == 0 && transform.getShearY() == 0) {
+        // keep rectangular clips as rectangles, for easing the detection of unchanged clips
+        clip = transform.createTransformedShape(r).getBounds2D();
+      }
+    }
+
+    @Override
+    public void clip(Shape s) {
+      Shape previousClip = clip;
+      super.clip(s);
+      if (s instanceof Rectangle2D r && transform.getShearX() == 0 && transform.getShearY() == 0 && (previousClip == null || previousClip instanceof Rectangle2D)) {
+        Rectangle2D deviceR = transform.createTransformedShape(r).getBounds2D();
+        clip = previousClip == null ? deviceR : ((Rectangle2D) previousClip).createIntersection(deviceR);
+      }
+    }
+
+    @Override
+    public Object clone() {
+      // GraphicContext.clone() would build a plain GraphicContext, which does not keep clips in device space
+      DeviceClipGraphicContext copy = new DeviceClipGraphicContext();
+      copy.defaultTransform = new AffineTransform(defaultTransform);
+      copy.transform = new AffineTransform(transform);
+      copy.transformStack = Arrays.stream(getTransformStack())
+          .map(e -> (TransformStackElement) e.clone())
+          .collect(Collectors.toCollection(ArrayList::new));
+      copy.transformStackValid = transformStackValid;
+      copy.paint = paint;
+      copy.stroke = stroke;
+      copy.composite = composite;
+      if (clip instanceof Rectangle2D r) {
+        copy.clip = (Rectangle2D) r.clone();
+      } else if (clip != null) {
+        copy.clip = new GeneralPath(clip);
+      }
+      copy.hints = (RenderingHints) hints.clone();
+      copy.font = font;
+      copy.background = background;
+      copy.foreground = foreground;
+      return copy;
+    }
+
+    private Shape deviceClip() {
+      return clip;
+    }
+  }
+
+  private static class Output {
+    private final Writer writer;
+    private final Rectangle bounds;
+    private final StringBuilder sb;
+    private Shape groupClip;
+    private boolean groupOpen;
+    private int nOfClips;
+    private boolean finished;
+
+    private Output(Writer writer, Rectangle bounds) {
+      this.writer = writer;
+      this.bounds = bounds;
+      sb = new StringBuilder();
+    }
+
+    private void flushElement() {
+      try {
+        writer.append(sb);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      sb.setLength(0);
+    }
+
+    private void write(String s) {
+      sb.append(s);
+      flushElement();
+    }
+  }
+
+  private static void appendNumber(StringBuilder sb, double v) {
+    long rounded = Math.round(v * 1000d);
+    if (rounded % 1000 == 0) {
+      sb.append(rounded / 1000);
+      return;
+    }
+    if (rounded < 0) {
+      sb.append('-');
+      rounded = -rounded;
+    }
+    sb.append(rounded / 1000).append('.');
+    long decimals = rounded % 1000;
+    if (decimals < 100) {
+      sb.append('0');
+    }
+    if (decimals < 10) {
+      sb.append('0');
+    }
+    while (decimals % 10 == 0) {
+      decimals = decimals / 10;
+    }
+    sb.append(decimals);
+  }
+
+  private static void appendColor(StringBuilder sb, String name, Color color, double alpha) {
+    sb.append(' ').append(name).append("=\"#");
+    String hex = Integer.toHexString(color.getRGB() & 0xffffff);
+    sb.append("0".repeat(6 - hex.length())).append(hex).append('"');
+    double opacity = color.getAlpha() / 255d * alpha;
+    if (opacity < 1) {
+      sb.append(' ').append(name).append("-opacity=\"");
+      appendNumber(sb, opacity);
+      sb.append('"');
+    }
+  }
+
+  private static void appendPath(StringBuilder sb, Shape shape, AffineTransform transform) {
+    double[] coords = new double[6];
+    PathIterator pi = shape.getPathIterator(transform);
+    sb.append(" d=\"");
+    char lastCommand = 0;
+    while (!pi.isDone()) {
+      int type = pi.currentSegment(coords);
+      char command = switch (type) {
+        case PathIterator.SEG_MOVETO -> 'M';
+        case PathIterator.SEG_LINETO -> 'L';
+        case PathIterator.SEG_QUADTO -> 'Q';
+        case PathIterator.SEG_CUBICTO -> 'C';
+        default -> 'Z';
+      };
+      int nOfCoords = switch (type) {
+        case PathIterator.SEG_MOVETO, PathIterator.SEG_LINETO -> 2;
+        case PathIterator.SEG_QUADTO -> 4;
+        case PathIterator.SEG_CUBICTO -> 6;
+        default -> 0;
+      };
+      if (command != lastCommand || command == 'M' || command == 'Z') {
+        sb.append(command);
+      } else {
+        sb.append(' ');
+      }
+      for (int i = 0; i < nOfCoords; i++) {
+        if (i > 0) {
+          sb.append(' ');
+        }
+        appendNumber(sb, coords[i]);
+      }
+      lastCommand = command;
+      pi.next();
+    }
+    sb.append('"');
+    if (pi.getWindingRule() == PathIterator.WIND_EVEN_ODD) {
+      sb.append(" fill-rule=\"evenodd\"");
+    }
+  }
+
+  private static String elementName(Shape shape, AffineTransform transform) {
+    if (transform.getShearX() != 0 || transform.getShearY() != 0) {
+      return "path";
+    }
+    if (shape instanceof Rectangle2D) {
+      return "rect";
+    }
+    if (shape instanceof Ellipse2D ellipse && Math.abs(ellipse.getWidth() * transform.getScaleX()) == Math.abs(
+        ellipse.getHeight() * transform.getScaleY()
+    )) {
+      return "circle";
+    }
+    return "path";
+  }
+
+  private static void appendGeometry(StringBuilder sb, String name, Shape shape, AffineTransform transform) {
+    switch (name) {
+      case "rect" -> {
+        Rectangle2D r = (Rectangle2D) shape;
+        Point2D p0 = transform.transform(new Point2D.Double(r.getMinX(), r.getMinY()), null);
+        Point2D p1 = transform.transform(new Point2D.Double(r.getMaxX(), r.getMaxY()), null);
+        appendAttribute(sb, "x", Math.min(p0.getX(), p1.getX()));
+        appendAttribute(sb, "y", Math.min(p0.getY(), p1.getY()));
+        appendAttribute(sb, "width", Math.abs(p1.getX() - p0.getX()));
+        appendAttribute(sb, "height", Math.abs(p1.getY() - p0.getY()));
+      }
+      case "circle" -> {
+        Ellipse2D e = (Ellipse2D) shape;
+        Point2D c = transform.transform(new Point2D.Double(e.getCenterX(), e.getCenterY()), null);
+        appendAttribute(sb, "cx", c.getX());
+        appendAttribute(sb, "cy", c.getY());
+        appendAttribute(sb, "r", Math.abs(e.getWidth() * transform.getScaleX()) / 2d);
+      }
+      default -> appendPath(sb, shape, transform);
+    }
+  }
+
+  private static void appendAttribute(StringBuilder sb, String name, double value) {
+    sb.append(' ').append(name).append("=\"");
+    appendNumber(sb, value);
+    sb.append('"');
+  }
+
+  private static void appendMatrix(StringBuilder sb, AffineTransform at) {
+    sb.append(" transform=\"matrix(");
+    double[] m = new double[6];
+    at.getMatrix(m);
+    for (int i = 0; i < m.length; i++) {
+      if (i > 0) {
+        sb.append(' ');
+      }
+      appendNumber(sb, m[i]);
+    }
+    sb.append(")\"");
+  }
+
+  private static void appendEscaped(StringBuilder sb, String s) {
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      switch (c) {
+        case '<' -> sb.append("&lt;");
+        case '>' -> sb.append("&gt;");
+        case '&' -> sb.append("&amp;");
+        case '"' -> sb.append("&quot;");
+        default -> sb.append(c);
+      }
+    }
+  }
+
+  private static String fontFamily(Font font) {
+    return switch (font.getFamily()) {
+      case Font.SANS_SERIF, Font.DIALOG -> "sans-serif";
+      case Font.SERIF -> "serif";
+      case Font.MONOSPACED, Font.DIALOG_INPUT -> "monospace";
+      default -> font.getFamily();
+    };
+  }
+
+  private static BufferedImage toBufferedImage(Image image) {
+    if (image instanceof BufferedImage bufferedImage) {
+      return bufferedImage;
+    }
+    BufferedImage bufferedImage = new BufferedImage(
+        image.getWidth(null),
+        image.getHeight(null),
+        BufferedImage.TYPE_INT_ARGB
+    );
+    Graphics2D g = bufferedImage.createGraphics();
+    g.drawImage(image, 0, 0, null);
+    g.dispose();
+    return bufferedImage;
+  }
+
+  private double alpha() {
+    return gc.getComposite() instanceof AlphaComposite alphaComposite ? alphaComposite.getAlpha() : 1d;
+  }
+
+  private Color color() {
+    Paint paint = gc.getPaint();
+    return paint instanceof Color color ? color : gc.getColor();
+  }
+
+  private StringBuilder startElement(String name) {
+    if (output.finished) {
+      throw new IllegalStateException("Document already finished");
+    }
+    Shape clip = ((DeviceClipGraphicContext) gc).deviceClip();
+    if (clip instanceof Rectangle2D && clip.getBounds2D().contains(output.bounds)) {
+      clip = null;
+    }
+    boolean sameClip = clip == output.groupClip || (clip instanceof Rectangle2D && clip.equals(output.groupClip));
+    StringBuilder sb = output.sb;
+    if (!sameClip) {
+      if (output.groupOpen) {
+        sb.append("</g>\n");
+        output.groupOpen = false;
+      }
+      if (clip != null) {
+        output.nOfClips = output.nOfClips + 1;
+        sb.append("<clipPath id=\"clip").append(output.nOfClips).append("\"><path");
+        appendPath(sb, clip, null);
+        sb.append("/></clipPath>\n<g clip-path=\"url(#clip").append(output.nOfClips).append(")\">\n");
+        output.groupOpen = true;
+      }
+      output.groupClip = clip;
+    }
+    sb.append('<').append(name);
+    return sb;
+  }
+
+  private void endElement() {
+    output.sb.append("/>\n");
+    output.flushElement();
+  }
+
+  /**
+   * Completes the SVG document and flushes the writer, which is not closed. Further drawing operations result in an
+   * {@link IllegalStateException}.
+   */
+  public void finish() {
+    if (output.finished) {
+      return;
+    }
+    if (output.groupOpen) {
+      output.sb.append("</g>\n");
+      output.groupOpen = false;
+    }
+    output.sb.append("</svg>\n");
+    output.flushElement();
+    output.finished = true;
+    try {
+      output.writer.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void draw(Shape s) {
+    Stroke stroke = gc.getStroke();
+    AffineTransform t = gc.getTransform();
+    boolean uniform = t.getShearX() == 0 && t.getShearY() == 0 && Math.abs(t.getScaleX()) == Math.abs(t.getScaleY());
+    if (!(stroke instanceof BasicStroke bs) || !uniform) {
+      fill(stroke.createStrokedShape(s));
+      return;
+    }
+    double scale = Math.abs(t.getScaleX());
+    String name = elementName(s, t);
+    StringBuilder sb = startElement(name);
+    appendGeometry(sb, name, s, t);
+    sb.append(" fill=\"none\"");
+    appendColor(sb, "stroke", color(), alpha());
+    appendAttribute(sb, "stroke-width", bs.getLineWidth() * scale);
+    if (bs.getEndCap() != BasicStroke.CAP_BUTT) {
+      sb.append(" stroke-linecap=\"").append(bs.getEndCap() == BasicStroke.CAP_ROUND ? "round" : "square").append('"');
+    }
+    if (bs.getLineJoin() != BasicStroke.JOIN_MITER) {
+      sb.append(" stroke-linejoin=\"").append(bs.getLineJoin() == BasicStroke.JOIN_ROUND ? "round" : "bevel")
+          .append('"');
+    }
+    if (bs.getLineJoin() == BasicStroke.JOIN_MITER && bs.getMiterLimit() != 4f) {
+      appendAttribute(sb, "stroke-miterlimit", bs.getMiterLimit());
+    }
+    if (bs.getDashArray() != null) {
+      sb.append(" stroke-dasharray=\"");
+      for (int i = 0; i < bs.getDashArray().length; i++) {
+        if (i > 0) {
+          sb.append(' ');
+        }
+        appendNumber(sb, bs.getDashArray()[i] * scale);
+      }
+      sb.append('"');
+      appendAttribute(sb, "stroke-dashoffset", bs.getDashPhase() * scale);
+    }
+    endElement();
+  }
+
+  @Override
+  public void fill(Shape s) {
+    AffineTransform t = gc.getTransform();
+    String name = elementName(s, t);
+    StringBuilder sb = startElement(name);
+    appendGeometry(sb, name, s, t);
+    appendColor(sb, "fill", color(), alpha());
+    endElement();
+  }
+
+  @Override
+  public void drawString(String str, float x, float y) {
+    if (str.isEmpty()) {
+      return;
+    }
+    Font font = gc.getFont();
+    AffineTransform at = gc.getTransform();
+    at.translate(x, y);
+    if (font.isTransformed()) {
+      at.concatenate(font.getTransform());
+    }
+    StringBuilder sb = startElement("text");
+    appendMatrix(sb, at);
+    sb.append(" font-family=\"");
+    appendEscaped(sb, fontFamily(font));
+    sb.append('"');
+    appendAttribute(sb, "font-size", font.getSize2D());
+    if (font.isBold()) {
+      sb.append(" font-weight=\"bold\"");
+    }
+    if (font.isItalic()) {
+      sb.append(" font-style=\"italic\"");
+    }
+    appendColor(sb, "fill", color(), alpha());
+    sb.append(" xml:space=\"preserve\">");
+    appendEscaped(sb, str);
+    sb.append("</text>\n");
+    output.flushElement();
+  }
+
+  @Override
+  public void drawString(AttributedCharacterIterator iterator, float x, float y) {
+    StringBuilder text = new StringBuilder();
+    for (char c = iterator.first(); c != AttributedCharacterIterator.DONE; c = iterator.next()) {
+      text.append(c);
+    }
+    Font font = gc.getFont();
+    Map<AttributedCharacterIterator.Attribute, Object> attributes = iterator.getAttributes();
+    if (attributes.get(TextAttribute.FONT) instanceof Font attributedFont) {
+      gc.setFont(attributedFont);
+    }
+    drawString(text.toString(), x, y);
+    gc.setFont(font);
+  }
+
+  @Override
+  public boolean drawImage(Image img, int x, int y, ImageObserver observer) {
+    return drawImage(img, x, y, img.getWidth(null), img.getHeight(null), observer);
+  }
+
+  @Override
+  public boolean drawImage(Image img, int x, int y, int width, int height, ImageObserver observer) {
+    if (width <= 0 || height <= 0) {
+      return true;
+    }
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try {
+      ImageIO.write(toBufferedImage(img), "png", baos);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    StringBuilder sb = startElement("image");
+    appendMatrix(sb, gc.getTransform());
+    sb.append(" x=\"").append(x).append("\" y=\"").append(y).append("\" width=\"").append(width)
+        .append("\" height=\"").append(height).append("\" preserveAspectRatio=\"none\"");
+    if (RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR.equals(
+        gc.getRenderingHint(RenderingHints.KEY_INTERPOLATION)
+    )) {
+      // no smoothing when scaling up the image, with a fallback for renderers not supporting pixelated
+      sb.append(" image-rendering=\"pixelated\" style=\"image-rendering:optimizeSpeed;image-rendering:pixelated\"");
+    }
+    double alpha = alpha();
+    if (alpha < 1) {
+      appendAttribute(sb, "opacity", alpha);
+    }
+    sb.append(" xlink:href=\"data:image/png;base64,").append(Base64.getEncoder().encodeToString(baos.toByteArray()))
+        .append('"');
+    endElement();
+    return true;
+  }
+
+  @Override
+  public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
+    BufferedImage image;
+    if (img instanceof BufferedImage bufferedImage) {
+      image = bufferedImage;
+    } else {
+      image = new BufferedImage(
+          img.getColorModel(),
+          img.copyData(null),
+          img.getColorModel().isAlphaPremultiplied(),
+          null
+      );
+    }
+    drawImage(image, xform, null);
+  }
+
+  @Override
+  public void drawRenderableImage(RenderableImage img, AffineTransform xform) {
+    drawRenderedImage(img.createDefaultRendering(), xform);
+  }
+
+  @Override
+  public GraphicsConfiguration getDeviceConfiguration() {
+    return null;
+  }
+
+  @Override
+  public Graphics create() {
+    return new SvgGraphics2D(this);
+  }
+
+  @Override
+  public void setXORMode(Color c) {
+    // not supported
+  }
+
+  @Override
+  public FontMetrics getFontMetrics(Font f) {
+    synchronized (METRICS_GRAPHICS) {
+      return METRICS_GRAPHICS.getFontMetrics(f);
+    }
+  }
+
+  @Override
+  public void copyArea(int x, int y, int width, int height, int dx, int dy) {
+    // not supported
+  }
+
+  @Override
+  public void dispose() {
+    // nothing to release: the document is completed by finish()
+  }
+}
@@ -22,19 +22,48 @@ package io.github.ericmedvet.jviz.core.drawer;
 import io.github.ericmedvet.jnb.datastructure.Binarizable;
 import io.github.ericmedvet.jviz.core.util.VideoUtils;
 import io.github.ericmedvet.jviz.core.util.VideoUtils.EncoderFacility;
+import io.github.ericmedvet.jviz.core.util.VideoUtils.FrameSource;
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
+/**
+ * A video, i.e., a sequence of frames with a frame rate. A video may be built from already rendered frames or from a
+ * {@link FrameSource} which renders the frames lazily: in the latter case, frames are rendered only when the video is
+ * encoded and each frame is handed to the encoder as soon as it is rendered, so that no more than a few frames are in
+ * memory at the same time. The encoded bytes are computed once and cached.
+ */
 public final class Video implements Binarizable {
   private final List<BufferedImage> images;
+  private final FrameSource source;
+  private final int w;
+  private final int h;
+  private final int nOfFrames;
   private final double frameRate;
   private transient byte[] data;
   private final EncoderFacility encoder;
 
   public Video(List<BufferedImage> images, double frameRate, EncoderFacility encoder) {
     this.images = images;
+    this.source = FrameSource.of(images);
+    this.w = images.isEmpty() ? 0 : images.getFirst().getWidth();
+    this.h = images.isEmpty() ? 0 : images.getFirst().getHeight();
+    this.nOfFrames = images.size();
+    this.frameRate = frameRate;
+    this.encoder = encoder;
+    data = null;
+  }
+
+  public Video(int w, int h, int nOfFrames, FrameSource source, double frameRate, EncoderFacility encoder) {
+    this.images = null;
+    this.source = source;
+    this.w = w;
+    this.h = h;
+    this.nOfFrames = nOfFrames;
     this.frameRate = frameRate;
     this.encoder = encoder;
     data = null;
@@ -44,7 +73,7 @@ public final class Video implements Binarizable {
   public byte[] data() {
     if (data == null) {
       try {
-        data = VideoUtils.encode(images, frameRate, encoder);
+        data = VideoUtils.encode(source, frameRate, encoder);
       } catch (IOException e) {
         throw new RuntimeException(e);
       }
@@ -58,7 +87,7 @@ public final class Video implements Binarizable {
 
   @Override
   public int hashCode() {
-    return Objects.hash(images, frameRate);
+    return Objects.hash(images == null ? source : images, frameRate);
   }
 
   @Override
@@ -68,21 +97,76 @@ public final class Video implements Binarizable {
     if (obj == null || obj.getClass() != this.getClass())
       return false;
     var that = (Video) obj;
-    return Objects.equals(this.images, that.images) && Double.doubleToLongBits(this.frameRate) == Double
-        .doubleToLongBits(that.frameRate);
+    return (this.images == null ? Objects.equals(this.source, that.source) : Objects.equals(
+        this.images,
+        that.images
+    )) && Double.doubleToLongBits(this.frameRate) == Double.doubleToLongBits(that.frameRate);
   }
 
   public EncoderFacility getEncoder() {
     return encoder;
   }
 
+  public int h() {
+    return h;
+  }
+
+  /**
+   * Returns the frames of this video. If this video has been built from a {@link FrameSource}, all the frames are
+   * rendered and kept in memory by the returned list: consider using {@link #save(File)} or {@link #data()} instead.
+   */
+  public List<BufferedImage> images() {
+    if (images != null) {
+      return images;
+    }
+    List<BufferedImage> renderedImages = new ArrayList<>(nOfFrames);
+    try {
+      source.writeTo(new VideoUtils.FrameSink() {
+        @Override
+        public void accept(BufferedImage frame) {
+          // the source may reuse the raster of the frame once accepted
+          renderedImages.add(
+              new BufferedImage(
+                  frame.getColorModel(),
+                  frame.copyData(null),
+                  frame.isAlphaPremultiplied(),
+                  null
+              )
+          );
+        }
+
+        @Override
+        public void close() {
+        }
+      });
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    return renderedImages;
+  }
+
+  public int nOfFrames() {
+    return nOfFrames;
+  }
+
+  /**
+   * Encodes this video directly on the given file, without keeping the encoded bytes in memory, unless they have
+   * already been computed.
+   */
+  public void save(File file) throws IOException {
+    if (data != null) {
+      Files.write(file.toPath(), data);
+    } else {
+      VideoUtils.encodeAndSave(source, frameRate, file, encoder);
+    }
+  }
+
   @Override
   public String toString() {
-    return "(%dx%d)x%d@%.1ffps"
-        .formatted(images.getFirst().getWidth(), images.getFirst().getHeight(), images.size(), frameRate);
+    return "(%dx%d)x%d@%.1ffps".formatted(w, h, nOfFrames, frameRate);
   }
 
-  public List<BufferedImage> images() {
-    return images;
+  public int w() {
+    return w;
   }
 }
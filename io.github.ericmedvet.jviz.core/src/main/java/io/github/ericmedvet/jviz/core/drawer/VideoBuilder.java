@@ -23,10 +23,17 @@ import io.github.ericmedvet.jviz.core.util.VideoUtils;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.StandardOpenOption;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.SortedMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 public interface VideoBuilder<E> extends Function<E, Video> {
@@ -35,14 +42,27 @@ public interface VideoBuilder<E> extends Function<E, Video> {
   int DEFAULT_H = 200;
 
   static <F, E> VideoBuilder<F> from(Drawer<E> drawer, Function<F, List<E>> splitter, double frameRate) {
+    return from(drawer, splitter, frameRate, 1);
+  }
+
+  static <F, E> VideoBuilder<F> from(
+      Drawer<E> drawer,
+      Function<F, List<E>> splitter,
+      double frameRate,
+      int nOfThreads
+  ) {
     return new VideoBuilder<>() {
       @Override
       public Video build(VideoInfo videoInfo, F f) {
-        List<BufferedImage> images = splitter.apply(f)
-            .stream()
-            .map(e -> drawer.buildRaster(new Drawer.ImageInfo(videoInfo.w, videoInfo.h), e))
-            .toList();
-        return new Video(images, frameRate, videoInfo.encoder);
+        List<E> es = splitter.apply(f);
+        return new Video(
+            videoInfo.w,
+            videoInfo.h,
+            es.size(),
+            VideoBuilder.frameSource(drawer, videoInfo, es, nOfThreads),
+            frameRate,
+            videoInfo.encoder
+        );
       }
 
       @Override
@@ -59,11 +79,14 @@ public interface VideoBuilder<E> extends Function<E, Video> {
       @Override
       public Video build(VideoInfo videoInfo, F f) {
         SortedMap<Double, E> map = splitter.apply(f);
-        List<BufferedImage> images = map.values()
-            .stream()
-            .map(e -> drawer.buildRaster(new Drawer.ImageInfo(videoInfo.w, videoInfo.h), e))
-            .toList();
-        return new Video(images, ((double) map.size()) / (map.lastKey()) - map.firstKey(), videoInfo.encoder);
+        return new Video(
+            videoInfo.w,
+            videoInfo.h,
+            map.size(),
+            VideoBuilder.frameSource(drawer, videoInfo, List.copyOf(map.values())),
+            ((double) map.size()) / (map.lastKey()) - map.firstKey(),
+            videoInfo.encoder
+        );
       }
 
       @Override
@@ -76,6 +99,99 @@ public interface VideoBuilder<E> extends Function<E, Video> {
     };
   }
 
+  static <E> VideoUtils.FrameSource frameSource(Drawer<E> drawer, VideoInfo videoInfo, List<E> es) {
+    Drawer.ImageInfo imageInfo = new Drawer.ImageInfo(videoInfo.w, videoInfo.h);
+    return sink -> {
+      RasterPool rasterPool = new RasterPool(1);
+      for (E e : es) {
+        BufferedImage frame = drawer.buildRaster(imageInfo, e, rasterPool);
+        sink.accept(frame);
+        rasterPool.release(frame);
+      }
+    };
+  }
+
+  /**
+   * Returns a frame source rendering the frames on {@code nOfThreads} threads of a pool which lives for the duration
+   * of a single {@link VideoUtils.FrameSource#writeTo(VideoUtils.FrameSink)} call. Frames are delivered to the sink in
+   * order and at most {@code 2 * nOfThreads} rendered (or being rendered) frames are kept in memory. If {@code
+   * nOfThreads} is not greater than 1, frames are rendered sequentially on the calling thread.
+   */
+  static <E> VideoUtils.FrameSource frameSource(Drawer<E> drawer, VideoInfo videoInfo, List<E> es, int nOfThreads) {
+    if (nOfThreads <= 1) {
+      return frameSource(drawer, videoInfo, es);
+    }
+    return sink -> {
+      ExecutorService executorService = Executors.newFixedThreadPool(nOfThreads);
+      try {
+        frameSource(drawer, videoInfo, es, executorService, 2 * nOfThreads).writeTo(sink);
+      } finally {
+        executorService.shutdownNow();
+      }
+    };
+  }
+
+  /**
+   * Returns a frame source rendering the frames on the given {@code executor}. Frames are delivered to the sink in
+   * their original order; at most {@code maxInFlightFrames} frames are submitted and not yet consumed by the sink at
+   * any time, so that memory usage does not grow with the number of frames. Frames are rendered on rasters taken from a
+   * {@link RasterPool}, to which they are released after having been accepted by the sink.
+   */
+  static <E> VideoUtils.FrameSource frameSource(
+      Drawer<E> drawer,
+      VideoInfo videoInfo,
+      List<E> es,
+      Executor executor,
+      int maxInFlightFrames
+  ) {
+    if (maxInFlightFrames < 1) {
+      throw new IllegalArgumentException(
+          "Max number of in-flight frames must be positive: %d found".formatted(maxInFlightFrames)
+      );
+    }
+    Drawer.ImageInfo imageInfo = new Drawer.ImageInfo(videoInfo.w, videoInfo.h);
+    return sink -> {
+      RasterPool rasterPool = new RasterPool(maxInFlightFrames);
+      Deque<Future<BufferedImage>> inFlight = new ArrayDeque<>(maxInFlightFrames);
+      try {
+        for (E e : es) {
+          if (inFlight.size() >= maxInFlightFrames) {
+            BufferedImage frame = frame(inFlight.removeFirst());
+            sink.accept(frame);
+            rasterPool.release(frame);
+          }
+          inFlight.addLast(
+              CompletableFuture.supplyAsync(() -> drawer.buildRaster(imageInfo, e, rasterPool), executor)
+          );
+        }
+        while (!inFlight.isEmpty()) {
+          BufferedImage frame = frame(inFlight.removeFirst());
+          sink.accept(frame);
+          rasterPool.release(frame);
+        }
+      } finally {
+        inFlight.forEach(f -> f.cancel(true));
+      }
+    };
+  }
+
+  private static BufferedImage frame(Future<BufferedImage> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a frame");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new IOException("Cannot render frame", e.getCause());
+    }
+  }
+
   default <F> VideoBuilder<F> on(Function<? super F, ? extends E> function) {
     VideoBuilder<E> thisVideoBuilder = this;
     return new VideoBuilder<>() {
@@ -118,7 +234,7 @@ public interface VideoBuilder<E> extends Function<E, Video> {
 
   private void save(Video video, File file) {
     try {
-      Files.write(file.toPath(), video.data(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+      video.save(file);
     } catch (IOException ex) {
       throw new RuntimeException(ex);
     }
@@ -22,7 +22,11 @@ package io.github.ericmedvet.jviz.core.plot;
 import io.github.ericmedvet.jnb.datastructure.DoubleRange;
 import io.github.ericmedvet.jnb.datastructure.Grid;
 import io.github.ericmedvet.jviz.core.util.Misc;
+import io.github.ericmedvet.jviz.core.util.QuantileSketch;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 public record DistributionPlot(
     String title,
@@ -34,10 +38,84 @@ public record DistributionPlot(
     Grid<TitledData<List<Data>>> dataGrid
 ) implements XYPlot<List<DistributionPlot.Data>> {
 
-  public record Data(String name, List<Double> yValues, Stats stats) {
+  /**
+   * The data of one distribution. Stats are computed lazily, at the first invocation of {@link #stats()}, and at most
+   * once: the {@code statsSupplier} is memoized. Equality, hash code, and string representation are based only on the
+   * name and the y values.
+   */
+  public record Data(String name, List<Double> yValues, Supplier<Stats> statsSupplier) {
+
+    public Data {
+      if (!(statsSupplier instanceof MemoizedStats)) {
+        statsSupplier = new MemoizedStats(statsSupplier);
+      }
+    }
+
+    public Data(String name, List<Double> yValues, Stats stats) {
+      this(name, yValues, () -> stats);
+    }
 
     public Data(String name, List<Double> yValues) {
-      this(name, yValues, new Stats(yValues));
+      this(name, yValues, () -> new Stats(yValues));
+    }
+
+    /**
+     * Builds the data of a distribution summarized by {@code sketch}. The y values are a sample of the same size of the
+     * values retained by the sketch, taken at evenly spaced ranks (see {@link QuantileSketch#sample(int)}), hence they
+     * are representative of the distribution; stats are computed from the sketch.
+     */
+    public Data(String name, QuantileSketch sketch) {
+      this(name, sketch.sample(sketch.size()), () -> new Stats(sketch));
+    }
+
+    private static final class MemoizedStats implements Supplier<Stats> {
+
+      private final Supplier<Stats> supplier;
+      private volatile Stats stats;
+
+      private MemoizedStats(Supplier<Stats> supplier) {
+        this.supplier = supplier;
+      }
+
+      @Override
+      public Stats get() {
+        Stats localStats = stats;
+        if (localStats == null) {
+          synchronized (this) {
+            localStats = stats;
+            if (localStats == null) {
+              localStats = supplier.get();
+              stats = localStats;
+            }
+          }
+        }
+        return localStats;
+      }
+    }
+
+    public Stats stats() {
+      return statsSupplier.get();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Data data)) {
+        return false;
+      }
+      return Objects.equals(name, data.name) && Objects.equals(yValues, data.yValues);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(name, yValues);
+    }
+
+    @Override
+    public String toString() {
+      return "Data[name=%s, yValues=%s]".formatted(name, yValues);
     }
 
     public record Stats(
@@ -51,35 +129,92 @@ public record DistributionPlot(
         double max
     ) {
       public Stats(List<Double> values) {
+        this(values.stream().mapToDouble(v -> v).toArray());
+      }
+
+      public Stats(double[] values) {
+        this(values, sorted(values));
+      }
+
+      private Stats(double[] values, double[] sortedValues) {
+        this(
+            sortedValues,
+            Arrays.stream(values).average().orElseThrow(),
+            Misc.sortedPercentile(sortedValues, 0.25),
+            Misc.sortedPercentile(sortedValues, 0.75)
+        );
+      }
+
+      private Stats(double[] sortedValues, double mean, double q1, double q3) {
+        this(
+            sortedValues[0],
+            lowerWhisker(sortedValues, q1 - 1.5 * (q3 - q1)),
+            q1,
+            Misc.sortedMedian(sortedValues),
+            mean,
+            q3,
+            upperWhisker(sortedValues, q3 + 1.5 * (q3 - q1)),
+            sortedValues[sortedValues.length - 1]
+        );
+      }
+
+      public Stats(QuantileSketch sketch) {
+        this(sketch, sketch.quantiles(0.25, 0.5, 0.75));
+      }
+
+      private Stats(QuantileSketch sketch, double[] quartiles) {
         this(
-            values.stream().min(Double::compareTo).orElseThrow(),
-            values.stream()
-                .filter(
-                    v -> v >= Misc.percentile(values, Double::compareTo, 0.25) - 1.5 * (Misc.percentile(
-                        values,
-                        Double::compareTo,
-                        0.75
-                    ) - Misc.percentile(values, Double::compareTo, 0.25))
-                )
-                .min(Double::compareTo)
-                .orElseThrow(),
-            Misc.percentile(values, Double::compareTo, 0.25),
-            Misc.median(values.stream().mapToDouble(v -> v).toArray()),
-            values.stream().mapToDouble(v -> v).average().orElseThrow(),
-            Misc.percentile(values, Double::compareTo, 0.75),
-            values.stream()
-                .filter(
-                    v -> v <= Misc.percentile(values, Double::compareTo, 0.75) + 1.5 * (Misc.percentile(
-                        values,
-                        Double::compareTo,
-                        0.75
-                    ) - Misc.percentile(values, Double::compareTo, 0.25))
-                )
-                .max(Double::compareTo)
-                .orElseThrow(),
-            values.stream().max(Double::compareTo).orElseThrow()
+            sketch.min(),
+            lowerWhisker(sketch, quartiles[0] - 1.5 * (quartiles[2] - quartiles[0])),
+            quartiles[0],
+            quartiles[1],
+            sketch.mean(),
+            quartiles[2],
+            upperWhisker(sketch, quartiles[2] + 1.5 * (quartiles[2] - quartiles[0])),
+            sketch.max()
         );
       }
+
+      private static double lowerWhisker(double[] sortedValues, double threshold) {
+        int i = 0;
+        while (sortedValues[i] < threshold) {
+          i = i + 1;
+        }
+        return sortedValues[i];
+      }
+
+      private static double upperWhisker(double[] sortedValues, double threshold) {
+        int i = sortedValues.length - 1;
+        while (sortedValues[i] > threshold) {
+          i = i - 1;
+        }
+        return sortedValues[i];
+      }
+
+      private static double[] sorted(double[] values) {
+        double[] sortedValues = Arrays.copyOf(values, values.length);
+        Arrays.sort(sortedValues);
+        return sortedValues;
+      }
+
+      // whiskers of a sketch are the values at the (weighted) ranks of the thresholds
+      private static double lowerWhisker(QuantileSketch sketch, double threshold) {
+        if (sketch.min() >= threshold) {
+          return sketch.min();
+        }
+        return valueAtRank(sketch, sketch.rank(threshold));
+      }
+
+      private static double upperWhisker(QuantileSketch sketch, double threshold) {
+        if (sketch.max() <= threshold) {
+          return sketch.max();
+        }
+        return valueAtRank(sketch, Math.max(0, sketch.rank(Math.nextUp(threshold)) - 1));
+      }
+
+      private static double valueAtRank(QuantileSketch sketch, long rank) {
+        return sketch.quantile((rank + 0.5) / (double) sketch.count());
+      }
     }
   }
 
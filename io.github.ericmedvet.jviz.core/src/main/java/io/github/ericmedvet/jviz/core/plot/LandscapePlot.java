@@ -21,10 +21,12 @@ package io.github.ericmedvet.jviz.core.plot;
 
 import io.github.ericmedvet.jnb.datastructure.DoubleRange;
 import io.github.ericmedvet.jnb.datastructure.Grid;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.DoubleBinaryOperator;
+import java.util.stream.IntStream;
 
 public record LandscapePlot(
     String title,
@@ -39,6 +41,67 @@ public record LandscapePlot(
 ) implements XYPlot<LandscapePlot.Data> {
   public record Data(DoubleBinaryOperator f, List<XYDataSeries> xyDataSeries) {}
 
+  /**
+   * A landscape function which can be evaluated in batch. Implementations may override
+   * {@link #applyAsDoubles(double[], double[], double[])} to evaluate many points at once more efficiently than point by
+   * point. If the function is {@link #pure()}, i.e., it has no side effects and it can be invoked concurrently, the rows
+   * of a lattice are sampled in parallel by {@link #sample(double[], double[])}.
+   */
+  public interface BatchFunction extends DoubleBinaryOperator {
+
+    static BatchFunction of(DoubleBinaryOperator f, boolean pure) {
+      return new BatchFunction() {
+        @Override
+        public double applyAsDouble(double x, double y) {
+          return f.applyAsDouble(x, y);
+        }
+
+        @Override
+        public boolean pure() {
+          return pure;
+        }
+      };
+    }
+
+    static BatchFunction of(DoubleBinaryOperator f) {
+      return f instanceof BatchFunction bf ? bf : of(f, false);
+    }
+
+    /**
+     * Evaluates the function on the points {@code (xs[i], ys[i])}, storing the values in {@code vs[i]}.
+     */
+    default void applyAsDoubles(double[] xs, double[] ys, double[] vs) {
+      for (int i = 0; i < xs.length; i++) {
+        vs[i] = applyAsDouble(xs[i], ys[i]);
+      }
+    }
+
+    default boolean pure() {
+      return false;
+    }
+
+    /**
+     * Evaluates the function on the lattice {@code xs} times {@code ys}, returning an array where the value at {@code
+     * (xs[i], ys[j])} is at index {@code i * ys.length + j}. Each row, i.e., each {@code xs[i]}, is evaluated with one
+     * batch invocation; rows are evaluated in parallel on the common fork-join pool if the function is pure.
+     */
+    default double[] sample(double[] xs, double[] ys) {
+      double[] vs = new double[xs.length * ys.length];
+      IntStream is = IntStream.range(0, xs.length);
+      if (pure()) {
+        is = is.parallel();
+      }
+      is.forEach(i -> {
+        double[] rowXs = new double[ys.length];
+        Arrays.fill(rowXs, xs[i]);
+        double[] rowVs = new double[ys.length];
+        applyAsDoubles(rowXs, ys, rowVs);
+        System.arraycopy(rowVs, 0, vs, i * ys.length, ys.length);
+      });
+      return vs;
+    }
+  }
+
   public LandscapePlot {
     if (xRange.equals(DoubleRange.UNBOUNDED)) {
       xRange = dataGrid.values()
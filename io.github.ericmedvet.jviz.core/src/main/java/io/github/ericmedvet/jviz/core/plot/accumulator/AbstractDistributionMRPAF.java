@@ -0,0 +1,151 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-core
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.core.plot.accumulator;
+
+import io.github.ericmedvet.jnb.datastructure.DoubleRange;
+import io.github.ericmedvet.jnb.datastructure.FormattedFunction;
+import io.github.ericmedvet.jnb.datastructure.Grid;
+import io.github.ericmedvet.jnb.datastructure.NamedFunction;
+import io.github.ericmedvet.jnb.datastructure.Table;
+import io.github.ericmedvet.jviz.core.plot.DistributionPlot;
+import io.github.ericmedvet.jviz.core.plot.DistributionPlot.Data;
+import io.github.ericmedvet.jviz.core.plot.XYPlot;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A factory of accumulators of {@link DistributionPlot}s that store, for each line, one cell of type {@code C} with
+ * the y values of all the runs. Subclasses define how a cell is created, updated, merged, and turned into the
+ * {@link Data} of the corresponding box.
+ *
+ * @param <C> the type of the cells storing the y values of one line
+ */
+public abstract class AbstractDistributionMRPAF<E, K, L, X, C> extends AbstractMultipleKPAF<E, DistributionPlot, K, List<Data>, L, Map<L, C>> {
+
+  protected final Function<? super E, X> predicateValueFunction;
+  protected final Function<? super K, ? extends L> lineFunction;
+  protected final Function<? super E, ? extends Number> yFunction;
+  private final Predicate<? super X> predicate;
+  private final DoubleRange yRange;
+
+  public AbstractDistributionMRPAF(
+      Function<? super K, ? extends L> xSubplotFunction,
+      Function<? super K, ? extends L> ySubplotFunction,
+      Function<? super K, ? extends L> lineFunction,
+      Function<? super E, ? extends Number> yFunction,
+      Function<? super E, X> predicateValueFunction,
+      Predicate<? super X> predicate,
+      DoubleRange yRange,
+      boolean concurrent
+  ) {
+    super(xSubplotFunction, ySubplotFunction, concurrent);
+    this.lineFunction = lineFunction;
+    this.yFunction = yFunction;
+    this.predicateValueFunction = predicateValueFunction;
+    this.predicate = predicate;
+    this.yRange = yRange;
+  }
+
+  protected abstract void add(C cell, K k, Number y);
+
+  protected abstract int cellSize(C cell);
+
+  protected abstract Data data(String name, C cell);
+
+  protected abstract void mergeCell(C dstCell, C srcCell);
+
+  protected abstract C newCell();
+
+  @Override
+  protected int size(Map<L, C> map) {
+    return map.values().stream().mapToInt(this::cellSize).sum();
+  }
+
+  @Override
+  protected List<Data> buildData(L xL, L yL, Map<L, C> map) {
+    return map.entrySet()
+        .stream()
+        .map(e -> data(FormattedFunction.format(lineFunction).formatted(e.getKey()), e.getValue()))
+        .toList();
+  }
+
+  @Override
+  protected DistributionPlot buildPlot(Table<L, L, List<Data>> data) {
+    Grid<XYPlot.TitledData<List<Data>>> grid = Grid.create(
+        data.nColumns(),
+        data.nRows(),
+        (x, y) -> new XYPlot.TitledData<>(
+            FormattedFunction.format(xSubplotFunction)
+                .formatted(data.colIndexes().get(x)),
+            FormattedFunction.format(ySubplotFunction)
+                .formatted(data.rowIndexes().get(y)),
+            data.get(x, y)
+        )
+    );
+    String subtitle = "";
+    if (grid.w() > 1 && grid.h() == 1) {
+      subtitle = "→ %s".formatted(NamedFunction.name(xSubplotFunction));
+    } else if (grid.w() == 1 && grid.h() > 1) {
+      subtitle = "↓ %s".formatted(NamedFunction.name(ySubplotFunction));
+    } else if (grid.w() > 1 && grid.h() > 1) {
+      subtitle = "→ %s, ↓ %s".formatted(
+          NamedFunction.name(xSubplotFunction),
+          NamedFunction.name(ySubplotFunction)
+      );
+    }
+    return new DistributionPlot(
+        "%s distribution%s"
+            .formatted(
+                NamedFunction.name(yFunction),
+                subtitle.isEmpty() ? subtitle : (" (%s)".formatted(subtitle))
+            ),
+        NamedFunction.name(xSubplotFunction),
+        NamedFunction.name(ySubplotFunction),
+        NamedFunction.name(lineFunction),
+        NamedFunction.name(yFunction),
+        yRange,
+        grid
+    );
+  }
+
+  @Override
+  protected Map<L, C> init(L xL, L yL) {
+    return new HashMap<>();
+  }
+
+  @Override
+  protected Map<L, C> merge(L xL, L yL, Map<L, C> dstMap, Map<L, C> srcMap) {
+    srcMap.forEach((l, srcCell) -> mergeCell(dstMap.computeIfAbsent(l, thisL -> newCell()), srcCell));
+    return dstMap;
+  }
+
+  @Override
+  protected Map<L, C> update(L xL, L yL, Map<L, C> map, E e, K k) {
+    X predicateValue = predicateValueFunction.apply(e);
+    if (predicate.test(predicateValue)) {
+      L lineL = lineFunction.apply(k);
+      add(map.computeIfAbsent(lineL, l -> newCell()), k, yFunction.apply(e));
+    }
+    return map;
+  }
+}
@@ -24,22 +24,55 @@ import io.github.ericmedvet.jnb.datastructure.HashMapTable;
 import io.github.ericmedvet.jnb.datastructure.Sized;
 import io.github.ericmedvet.jnb.datastructure.Table;
 import io.github.ericmedvet.jviz.core.plot.XYPlot;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 
 public abstract class AbstractMultipleKPAF<E, P extends XYPlot<D>, K, D, L, V> implements PlotAccumulatorFactory<E, P, K, D>, Sized {
 
   protected final Function<? super K, ? extends L> xSubplotFunction;
   protected final Function<? super K, ? extends L> ySubplotFunction;
+  protected final boolean concurrent;
 
   private final Table<L, L, V> table;
+  private final Table<L, L, List<Shard<V>>> shards;
 
   public AbstractMultipleKPAF(
       Function<? super K, ? extends L> xSubplotFunction,
       Function<? super K, ? extends L> ySubplotFunction
+  ) {
+    this(xSubplotFunction, ySubplotFunction, false);
+  }
+
+  /**
+   * Builds the factory. If {@code concurrent} is {@code false}, all the accumulators built by this factory update a
+   * single shared table while holding its monitor. If {@code concurrent} is {@code true}, each accumulator updates
+   * its own shard of data, which is registered in the cell of its (xSubplot, ySubplot) pair upon the first event:
+   * accumulators of different runs hence never contend on {@code listen()}; {@code get()} merges, for each cell, a
+   * copy of each shard (taken while holding only that shard monitor) and builds the plot without holding any lock.
+   *
+   * @param xSubplotFunction the function giving the column of the subplot of a run
+   * @param ySubplotFunction the function giving the row of the subplot of a run
+   * @param concurrent       whether to use the per-run, lock-striped storage
+   */
+  public AbstractMultipleKPAF(
+      Function<? super K, ? extends L> xSubplotFunction,
+      Function<? super K, ? extends L> ySubplotFunction,
+      boolean concurrent
   ) {
     this.xSubplotFunction = xSubplotFunction;
     this.ySubplotFunction = ySubplotFunction;
+    this.concurrent = concurrent;
     table = new HashMapTable<>();
+    shards = new HashMapTable<>();
+  }
+
+  private static class Shard<V> {
+    private V v;
+
+    private Shard(V v) {
+      this.v = v;
+    }
   }
 
   protected abstract D buildData(L xL, L yL, V v);
@@ -48,19 +81,90 @@ public abstract class AbstractMultipleKPAF<E, P extends XYPlot<D>, K, D, L, V> i
 
   protected abstract V init(L xL, L yL);
 
+  /**
+   * Adds the data of {@code srcV} to {@code dstV}. Implementations may modify and return {@code dstV}, but must not
+   * let it share any mutable part with {@code srcV}, which may be modified after this method returns.
+   */
+  protected abstract V merge(L xL, L yL, V dstV, V srcV);
+
   protected abstract V update(L xL, L yL, V v, E e, K k);
 
   protected abstract int size(V v);
 
   @Override
   public int size() {
+    if (concurrent) {
+      return cellShards().values()
+          .stream()
+          .flatMap(List::stream)
+          .mapToInt(shard -> {
+            synchronized (shard) {
+              return size(shard.v);
+            }
+          })
+          .sum();
+    }
     return table.values().stream().mapToInt(this::size).sum();
   }
 
+  private Table<L, L, List<Shard<V>>> cellShards() {
+    synchronized (shards) {
+      return shards.map((xL, yL, cell) -> cell == null ? List.of() : List.copyOf(cell));
+    }
+  }
+
+  private void register(L xL, L yL, Shard<V> shard) {
+    synchronized (shards) {
+      List<Shard<V>> cell = shards.get(yL, xL);
+      if (cell == null) {
+        cell = new ArrayList<>();
+        shards.set(yL, xL, cell);
+      }
+      cell.add(shard);
+    }
+  }
+
+  private V snapshot(L xL, L yL, List<Shard<V>> cell) {
+    V v = init(xL, yL);
+    for (Shard<V> shard : cell) {
+      synchronized (shard) {
+        v = merge(xL, yL, v, shard.v);
+      }
+    }
+    return v;
+  }
+
   @Override
   public Accumulator<E, P> build(K k) {
     L xL = xSubplotFunction.apply(k);
     L yL = ySubplotFunction.apply(k);
+    if (concurrent) {
+      Shard<V> shard = new Shard<>(init(xL, yL));
+      return new Accumulator<>() {
+        private boolean registered = false;
+
+        @Override
+        public P get() {
+          return buildPlot(cellShards().map((xL, yL, cell) -> buildData(xL, yL, snapshot(xL, yL, cell))));
+        }
+
+        @Override
+        public void listen(E e) {
+          synchronized (shard) {
+            if (!registered) {
+              register(xL, yL, shard);
+              registered = true;
+            }
+            shard.v = update(xL, yL, shard.v, e, k);
+          }
+        }
+
+        @Override
+        public String toString() {
+          return name();
+        }
+      };
+    }
     return new Accumulator<>() {
       @Override
       public P get() {
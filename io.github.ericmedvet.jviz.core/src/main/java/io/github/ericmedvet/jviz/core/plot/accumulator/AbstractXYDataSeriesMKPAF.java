@@ -0,0 +1,181 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-core
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.core.plot.accumulator;
+
+import io.github.ericmedvet.jnb.datastructure.DoubleRange;
+import io.github.ericmedvet.jnb.datastructure.FormattedFunction;
+import io.github.ericmedvet.jnb.datastructure.Grid;
+import io.github.ericmedvet.jnb.datastructure.HashMapTable;
+import io.github.ericmedvet.jnb.datastructure.NamedFunction;
+import io.github.ericmedvet.jnb.datastructure.Table;
+import io.github.ericmedvet.jviz.core.plot.Value;
+import io.github.ericmedvet.jviz.core.plot.XYDataSeries;
+import io.github.ericmedvet.jviz.core.plot.XYDataSeriesPlot;
+import io.github.ericmedvet.jviz.core.plot.XYPlot;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A factory of accumulators of {@link XYDataSeriesPlot}s that store, for each (x, line) pair, one cell of type
+ * {@code C} with the y values of all the runs. Subclasses define how a cell is created, updated, merged, and reduced to
+ * the y value of the corresponding point; and how the x value is obtained from an event and a run.
+ *
+ * @param <C> the type of the cells storing the y values of one (x, line) pair
+ */
+public abstract class AbstractXYDataSeriesMKPAF<E, K, L, C> extends AbstractMultipleKPAF<E, XYDataSeriesPlot, K, List<XYDataSeries>, L, Table<Number, L, C>> {
+
+  protected final Function<? super K, ? extends L> lineFunction;
+  protected final Function<? super E, ? extends Number> yFunction;
+  private final DoubleRange xRange;
+  private final DoubleRange yRange;
+
+  public AbstractXYDataSeriesMKPAF(
+      Function<? super K, ? extends L> xSubplotFunction,
+      Function<? super K, ? extends L> ySubplotFunction,
+      Function<? super K, ? extends L> lineFunction,
+      Function<? super E, ? extends Number> yFunction,
+      DoubleRange xRange,
+      DoubleRange yRange,
+      boolean concurrent
+  ) {
+    super(xSubplotFunction, ySubplotFunction, concurrent);
+    this.lineFunction = lineFunction;
+    this.yFunction = yFunction;
+    this.xRange = xRange;
+    this.yRange = yRange;
+  }
+
+  protected abstract void add(C cell, K k, Number y);
+
+  protected abstract int cellSize(C cell);
+
+  protected abstract void mergeCell(C dstCell, C srcCell);
+
+  protected abstract C newCell();
+
+  protected abstract Value reduce(C cell);
+
+  protected abstract Number xValue(E e, K k);
+
+  protected abstract String xName();
+
+  @Override
+  protected int size(Table<Number, L, C> table) {
+    return table.values()
+        .stream()
+        .filter(Objects::nonNull)
+        .mapToInt(this::cellSize)
+        .sum();
+  }
+
+  @Override
+  protected List<XYDataSeries> buildData(L xL, L yL, Table<Number, L, C> table) {
+    return table.colIndexes()
+        .stream()
+        .map(
+            lineL -> XYDataSeries.of(
+                FormattedFunction.format(lineFunction).formatted(lineL),
+                table.column(lineL)
+                    .entrySet()
+                    .stream()
+                    .filter(e -> e.getValue() != null)
+                    .map(e -> new XYDataSeries.Point(Value.of(e.getKey().doubleValue()), reduce(e.getValue())))
+                    .toList()
+            )
+                .sorted()
+        )
+        .toList();
+  }
+
+  @Override
+  protected XYDataSeriesPlot buildPlot(Table<L, L, List<XYDataSeries>> data) {
+    Grid<XYPlot.TitledData<List<XYDataSeries>>> grid = Grid.create(
+        data.nColumns(),
+        data.nRows(),
+        (x, y) -> new XYPlot.TitledData<>(
+            FormattedFunction.format(xSubplotFunction)
+                .formatted(data.colIndexes().get(x)),
+            FormattedFunction.format(ySubplotFunction)
+                .formatted(data.rowIndexes().get(y)),
+            data.get(x, y)
+        )
+    );
+    String subtitle = "";
+    if (grid.w() > 1 && grid.h() == 1) {
+      subtitle = "→ %s".formatted(NamedFunction.name(xSubplotFunction));
+    } else if (grid.w() == 1 && grid.h() > 1) {
+      subtitle = "↓ %s".formatted(NamedFunction.name(ySubplotFunction));
+    } else if (grid.w() > 1 && grid.h() > 1) {
+      subtitle = "→ %s, ↓ %s".formatted(NamedFunction.name(xSubplotFunction), NamedFunction.name(ySubplotFunction));
+    }
+    return new XYDataSeriesPlot(
+        "%s vs. %s%s"
+            .formatted(
+                NamedFunction.name(yFunction),
+                xName(),
+                subtitle.isEmpty() ? subtitle : (" (%s)".formatted(subtitle))
+            ),
+        NamedFunction.name(xSubplotFunction),
+        NamedFunction.name(ySubplotFunction),
+        xName(),
+        NamedFunction.name(yFunction),
+        xRange,
+        yRange,
+        grid
+    );
+  }
+
+  @Override
+  protected Table<Number, L, C> init(L xL, L yL) {
+    return new HashMapTable<>();
+  }
+
+  @Override
+  protected Table<Number, L, C> merge(L xL, L yL, Table<Number, L, C> dstTable, Table<Number, L, C> srcTable) {
+    for (Number x : srcTable.rowIndexes()) {
+      for (L lineL : srcTable.colIndexes()) {
+        C srcCell = srcTable.get(x, lineL);
+        if (srcCell != null) {
+          C dstCell = dstTable.get(x, lineL);
+          if (dstCell == null) {
+            dstCell = newCell();
+            dstTable.set(x, lineL, dstCell);
+          }
+          mergeCell(dstCell, srcCell);
+        }
+      }
+    }
+    return dstTable;
+  }
+
+  @Override
+  protected Table<Number, L, C> update(L xL, L yL, Table<Number, L, C> table, E e, K k) {
+    Number x = xValue(e, k);
+    L lineL = lineFunction.apply(k);
+    C cell = table.get(x, lineL);
+    if (cell == null) {
+      cell = newCell();
+      table.set(x, lineL, cell);
+    }
+    add(cell, k, yFunction.apply(e));
+    return table;
+  }
+}
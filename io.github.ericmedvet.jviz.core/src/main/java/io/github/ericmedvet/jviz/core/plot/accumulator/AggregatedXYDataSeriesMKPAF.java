@@ -20,16 +20,8 @@
 package io.github.ericmedvet.jviz.core.plot.accumulator;
 
 import io.github.ericmedvet.jnb.datastructure.DoubleRange;
-import io.github.ericmedvet.jnb.datastructure.FormattedFunction;
-import io.github.ericmedvet.jnb.datastructure.Grid;
-import io.github.ericmedvet.jnb.datastructure.HashMapTable;
-import io.github.ericmedvet.jnb.datastructure.NamedFunction;
-import io.github.ericmedvet.jnb.datastructure.Table;
 import io.github.ericmedvet.jviz.core.plot.RangedValue;
 import io.github.ericmedvet.jviz.core.plot.Value;
-import io.github.ericmedvet.jviz.core.plot.XYDataSeries;
-import io.github.ericmedvet.jviz.core.plot.XYDataSeriesPlot;
-import io.github.ericmedvet.jviz.core.plot.XYPlot;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -37,16 +29,12 @@ import java.util.Map;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 
-public abstract class AggregatedXYDataSeriesMKPAF<E, K, L> extends AbstractMultipleKPAF<E, XYDataSeriesPlot, K, List<XYDataSeries>, L, Table<Number, L, Map<K, List<Number>>>> {
+public abstract class AggregatedXYDataSeriesMKPAF<E, K, L> extends AbstractXYDataSeriesMKPAF<E, K, L, Map<K, List<Number>>> {
 
-  private final Function<? super K, ? extends L> lineFunction;
-  private final Function<? super E, ? extends Number> yFunction;
   private final Function<List<Number>, Number> valueAggregator;
   private final Function<List<Number>, Number> minAggregator;
   private final Function<List<Number>, Number> maxAggregator;
   private final UnaryOperator<List<Number>> rFilter;
-  private final DoubleRange xRange;
-  private final DoubleRange yRange;
 
   public AggregatedXYDataSeriesMKPAF(
       Function<? super K, ? extends L> xSubplotFunction,
@@ -60,140 +48,79 @@ public abstract class AggregatedXYDataSeriesMKPAF<E, K, L> extends AbstractMulti
       DoubleRange xRange,
       DoubleRange yRange
   ) {
-    super(xSubplotFunction, ySubplotFunction);
-    this.lineFunction = lineFunction;
-    this.yFunction = yFunction;
+    this(
+        xSubplotFunction,
+        ySubplotFunction,
+        lineFunction,
+        yFunction,
+        valueAggregator,
+        minAggregator,
+        maxAggregator,
+        rFilter,
+        xRange,
+        yRange,
+        false
+    );
+  }
+
+  public AggregatedXYDataSeriesMKPAF(
+      Function<? super K, ? extends L> xSubplotFunction,
+      Function<? super K, ? extends L> ySubplotFunction,
+      Function<? super K, ? extends L> lineFunction,
+      Function<? super E, ? extends Number> yFunction,
+      Function<List<Number>, Number> valueAggregator,
+      Function<List<Number>, Number> minAggregator,
+      Function<List<Number>, Number> maxAggregator,
+      UnaryOperator<List<Number>> rFilter,
+      DoubleRange xRange,
+      DoubleRange yRange,
+      boolean concurrent
+  ) {
+    super(xSubplotFunction, ySubplotFunction, lineFunction, yFunction, xRange, yRange, concurrent);
     this.valueAggregator = valueAggregator;
     this.minAggregator = minAggregator;
     this.maxAggregator = maxAggregator;
     this.rFilter = rFilter;
-    this.xRange = xRange;
-    this.yRange = yRange;
   }
 
   @Override
-  protected int size(Table<Number, L, Map<K, List<Number>>> table) {
-    return table.values()
-        .stream()
-        .mapToInt(
-            map -> map.values()
-                .stream()
-                .mapToInt(List::size)
-                .sum()
-        )
-        .sum();
+  protected void add(Map<K, List<Number>> cell, K k, Number y) {
+    cell.computeIfAbsent(k, run -> new ArrayList<>()).add(y);
   }
 
   @Override
-  protected List<XYDataSeries> buildData(L xL, L yL, Table<Number, L, Map<K, List<Number>>> table) {
-    return table.colIndexes()
-        .stream()
-        .map(
-            lineL -> XYDataSeries.of(
-                FormattedFunction.format(lineFunction).formatted(lineL),
-                table.column(lineL)
-                    .entrySet()
-                    .stream()
-                    .filter(e -> e.getValue() != null)
-                    .map(
-                        e -> {
-                          List<Number> values = e.getValue()
-                              .values()
-                              .stream()
-                              .map(rFilter)
-                              .flatMap(List::stream)
-                              .toList();
-                          return new XYDataSeries.Point(
-                              Value.of(e.getKey().doubleValue()),
-                              RangedValue.of(
-                                  valueAggregator
-                                      .apply(values)
-                                      .doubleValue(),
-                                  minAggregator
-                                      .apply(values)
-                                      .doubleValue(),
-                                  maxAggregator
-                                      .apply(values)
-                                      .doubleValue()
-                              )
-                          );
-                        }
-                    )
-                    .toList()
-            )
-                .sorted()
-        )
-        .toList();
+  protected int cellSize(Map<K, List<Number>> cell) {
+    return cell.values().stream().mapToInt(List::size).sum();
   }
 
   @Override
-  protected XYDataSeriesPlot buildPlot(Table<L, L, List<XYDataSeries>> data) {
-    Grid<XYPlot.TitledData<List<XYDataSeries>>> grid = Grid.create(
-        data.nColumns(),
-        data.nRows(),
-        (x, y) -> new XYPlot.TitledData<>(
-            FormattedFunction.format(xSubplotFunction)
-                .formatted(data.colIndexes().get(x)),
-            FormattedFunction.format(ySubplotFunction)
-                .formatted(data.rowIndexes().get(y)),
-            data.get(x, y)
-        )
-    );
-    String subtitle = "";
-    if (grid.w() > 1 && grid.h() == 1) {
-      subtitle = "→ %s".formatted(NamedFunction.name(xSubplotFunction));
-    } else if (grid.w() == 1 && grid.h() > 1) {
-      subtitle = "↓ %s".formatted(NamedFunction.name(ySubplotFunction));
-    } else if (grid.w() > 1 && grid.h() > 1) {
-      subtitle = "→ %s, ↓ %s".formatted(NamedFunction.name(xSubplotFunction), NamedFunction.name(ySubplotFunction));
+  protected void mergeCell(Map<K, List<Number>> dstCell, Map<K, List<Number>> srcCell) {
+    for (Map.Entry<K, List<Number>> entry : srcCell.entrySet()) {
+      dstCell.computeIfAbsent(entry.getKey(), run -> new ArrayList<>()).addAll(entry.getValue());
     }
-    return new XYDataSeriesPlot(
-        "%s vs. %s%s"
-            .formatted(
-                NamedFunction.name(yFunction),
-                xName(),
-                subtitle.isEmpty() ? subtitle : (" (%s)".formatted(subtitle))
-            ),
-        NamedFunction.name(xSubplotFunction),
-        NamedFunction.name(ySubplotFunction),
-        xName(),
-        NamedFunction.name(yFunction),
-        xRange,
-        yRange,
-        grid
-    );
   }
 
   @Override
-  protected Table<Number, L, Map<K, List<Number>>> init(L xL, L yL) {
-    return new HashMapTable<>();
+  protected Map<K, List<Number>> newCell() {
+    return new HashMap<>();
   }
 
   @Override
-  protected Table<Number, L, Map<K, List<Number>>> update(
-      L xL,
-      L yL,
-      Table<Number, L, Map<K, List<Number>>> table,
-      E e,
-      K k
-  ) {
-    Number x = xValue(e, k);
-    L lineL = lineFunction.apply(k);
-    Map<K, List<Number>> values = table.get(x, lineL);
-    if (values == null) {
-      values = new HashMap<>();
-      table.set(x, lineL, values);
-    }
-    values.computeIfAbsent(k, run -> new ArrayList<>()).add(yFunction.apply(e));
-    return table;
+  protected Value reduce(Map<K, List<Number>> cell) {
+    List<Number> values = cell.values()
+        .stream()
+        .map(rFilter)
+        .flatMap(List::stream)
+        .toList();
+    return RangedValue.of(
+        valueAggregator.apply(values).doubleValue(),
+        minAggregator.apply(values).doubleValue(),
+        maxAggregator.apply(values).doubleValue()
+    );
   }
 
   @Override
   public String toString() {
     return "aggregatedXyMRPAF(xFunction=" + xName() + ";yFunction=" + yFunction + ')';
   }
-
-  protected abstract Number xValue(E e, K k);
-
-  protected abstract String xName();
 }
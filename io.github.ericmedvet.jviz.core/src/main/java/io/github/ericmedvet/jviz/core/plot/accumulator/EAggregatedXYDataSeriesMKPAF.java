@@ -40,6 +40,36 @@ public class EAggregatedXYDataSeriesMKPAF<E, K, L> extends AggregatedXYDataSerie
       DoubleRange xRange,
       DoubleRange yRange,
       Function<? super E, ? extends Number> xFunction
+  ) {
+    this(
+        xSubplotFunction,
+        ySubplotFunction,
+        lineFunction,
+        yFunction,
+        valueAggregator,
+        minAggregator,
+        maxAggregator,
+        rFilter,
+        xRange,
+        yRange,
+        xFunction,
+        false
+    );
+  }
+
+  public EAggregatedXYDataSeriesMKPAF(
+      Function<? super K, ? extends L> xSubplotFunction,
+      Function<? super K, ? extends L> ySubplotFunction,
+      Function<? super K, ? extends L> lineFunction,
+      Function<? super E, ? extends Number> yFunction,
+      Function<List<Number>, Number> valueAggregator,
+      Function<List<Number>, Number> minAggregator,
+      Function<List<Number>, Number> maxAggregator,
+      UnaryOperator<List<Number>> rFilter,
+      DoubleRange xRange,
+      DoubleRange yRange,
+      Function<? super E, ? extends Number> xFunction,
+      boolean concurrent
   ) {
     super(
         xSubplotFunction,
@@ -51,7 +81,8 @@ public class EAggregatedXYDataSeriesMKPAF<E, K, L> extends AggregatedXYDataSerie
         maxAggregator,
         rFilter,
         xRange,
-        yRange
+        yRange,
+        concurrent
     );
     this.xFunction = xFunction;
   }
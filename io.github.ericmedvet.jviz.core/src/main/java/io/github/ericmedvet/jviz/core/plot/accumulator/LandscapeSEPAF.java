@@ -43,6 +43,7 @@ public class LandscapeSEPAF<E, K, X, P> extends AbstractSingleEPAF<E, LandscapeP
   private final DoubleRange xRange;
   private final DoubleRange yRange;
   private final DoubleRange valueRange;
+  private final boolean pureValueFunction;
 
   public LandscapeSEPAF(
       Function<? super K, String> titleFunction,
@@ -55,7 +56,8 @@ public class LandscapeSEPAF<E, K, X, P> extends AbstractSingleEPAF<E, LandscapeP
       Function<E, DoubleBinaryOperator> valueFunction,
       DoubleRange xRange,
       DoubleRange yRange,
-      DoubleRange valueRange
+      DoubleRange valueRange,
+      boolean pureValueFunction
   ) {
     super(titleFunction, predicateValueFunction, predicate, unique);
     this.pointFunctions = pointFunctions;
@@ -65,6 +67,36 @@ public class LandscapeSEPAF<E, K, X, P> extends AbstractSingleEPAF<E, LandscapeP
     this.xRange = xRange;
     this.yRange = yRange;
     this.valueRange = valueRange;
+    this.pureValueFunction = pureValueFunction;
+  }
+
+  public LandscapeSEPAF(
+      Function<? super K, String> titleFunction,
+      Function<? super E, X> predicateValueFunction,
+      Predicate<? super X> predicate,
+      boolean unique,
+      List<Function<? super E, Collection<P>>> pointFunctions,
+      Function<? super P, ? extends Number> xFunction,
+      Function<? super P, ? extends Number> yFunction,
+      Function<E, DoubleBinaryOperator> valueFunction,
+      DoubleRange xRange,
+      DoubleRange yRange,
+      DoubleRange valueRange
+  ) {
+    this(
+        titleFunction,
+        predicateValueFunction,
+        predicate,
+        unique,
+        pointFunctions,
+        xFunction,
+        yFunction,
+        valueFunction,
+        xRange,
+        yRange,
+        valueRange,
+        false
+    );
   }
 
   @Override
@@ -73,7 +105,7 @@ public class LandscapeSEPAF<E, K, X, P> extends AbstractSingleEPAF<E, LandscapeP
         Map.entry(
             "",
             new LandscapePlot.Data(
-                valueFunction.apply(e),
+                batchValueFunction(e),
                 pointFunctions.stream()
                     .map(
                         pf -> XYDataSeries.of(
@@ -104,6 +136,14 @@ public class LandscapeSEPAF<E, K, X, P> extends AbstractSingleEPAF<E, LandscapeP
     );
   }
 
+  private LandscapePlot.BatchFunction batchValueFunction(E e) {
+    DoubleBinaryOperator f = valueFunction.apply(e);
+    if (f instanceof LandscapePlot.BatchFunction bf) {
+      return bf;
+    }
+    return LandscapePlot.BatchFunction.of(f, pureValueFunction);
+  }
+
   @Override
   protected LandscapePlot buildPlot(Table<String, String, LandscapePlot.Data> data, K k) {
     return new LandscapePlot(
@@ -61,7 +61,35 @@ public class ScatterMRPAF<E, K, L, X> extends AbstractMultipleKPAF<E, XYDataSeri
       DoubleRange xRange,
       DoubleRange yRange
   ) {
-    super(xSubplotFunction, ySubplotFunction);
+    this(
+        xSubplotFunction,
+        ySubplotFunction,
+        groupFunction,
+        xFunction,
+        yFunction,
+        predicateValueFunction,
+        predicate,
+        rFilter,
+        xRange,
+        yRange,
+        false
+    );
+  }
+
+  public ScatterMRPAF(
+      Function<? super K, ? extends L> xSubplotFunction,
+      Function<? super K, ? extends L> ySubplotFunction,
+      Function<? super K, ? extends L> groupFunction,
+      Function<? super E, ? extends Number> xFunction,
+      Function<? super E, ? extends Number> yFunction,
+      Function<? super E, X> predicateValueFunction,
+      Predicate<? super X> predicate,
+      UnaryOperator<List<Point>> rFilter,
+      DoubleRange xRange,
+      DoubleRange yRange,
+      boolean concurrent
+  ) {
+    super(xSubplotFunction, ySubplotFunction, concurrent);
     this.groupFunction = groupFunction;
     this.xFunction = xFunction;
     this.yFunction = yFunction;
@@ -149,6 +177,22 @@ public class ScatterMRPAF<E, K, L, X> extends AbstractMultipleKPAF<E, XYDataSeri
     return new HashMap<>();
   }
 
+  @Override
+  protected Map<L, Map<K, List<Point>>> merge(
+      L xL,
+      L yL,
+      Map<L, Map<K, List<Point>>> dstMap,
+      Map<L, Map<K, List<Point>>> srcMap
+  ) {
+    srcMap.forEach(
+        (l, srcRMap) -> {
+          Map<K, List<Point>> dstRMap = dstMap.computeIfAbsent(l, thisL -> new HashMap<>());
+          srcRMap.forEach((k, values) -> dstRMap.computeIfAbsent(k, thisK -> new ArrayList<>()).addAll(values));
+        }
+    );
+    return dstMap;
+  }
+
   @Override
   protected Map<L, Map<K, List<Point>>> update(
       L xL,
@@ -0,0 +1,91 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-core
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.core.plot.accumulator;
+
+import io.github.ericmedvet.jnb.datastructure.DoubleRange;
+import io.github.ericmedvet.jviz.core.plot.DistributionPlot;
+import io.github.ericmedvet.jviz.core.plot.DistributionPlot.Data;
+import io.github.ericmedvet.jviz.core.util.QuantileSketch;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A bounded-memory counterpart of {@link DistributionMRPAF}: instead of storing all the y values of each line, it
+ * stores one {@link QuantileSketch}, merging the values of all the runs. The resulting {@link DistributionPlot.Data}
+ * have exact min, mean, and max, approximate quartiles, and, as y values, the values retained by the sketch.
+ */
+public class SketchedDistributionMRPAF<E, K, L, X> extends AbstractDistributionMRPAF<E, K, L, X, QuantileSketch> {
+
+  private final int sketchK;
+
+  public SketchedDistributionMRPAF(
+      Function<? super K, ? extends L> xSubplotFunction,
+      Function<? super K, ? extends L> ySubplotFunction,
+      Function<? super K, ? extends L> lineFunction,
+      Function<? super E, ? extends Number> yFunction,
+      Function<? super E, X> predicateValueFunction,
+      Predicate<? super X> predicate,
+      int sketchK,
+      DoubleRange yRange,
+      boolean concurrent
+  ) {
+    super(
+        xSubplotFunction,
+        ySubplotFunction,
+        lineFunction,
+        yFunction,
+        predicateValueFunction,
+        predicate,
+        yRange,
+        concurrent
+    );
+    this.sketchK = sketchK;
+  }
+
+  @Override
+  protected void add(QuantileSketch cell, K k, Number y) {
+    cell.add(y.doubleValue());
+  }
+
+  @Override
+  protected int cellSize(QuantileSketch cell) {
+    return cell.size();
+  }
+
+  @Override
+  protected Data data(String name, QuantileSketch cell) {
+    return new Data(name, cell);
+  }
+
+  @Override
+  protected void mergeCell(QuantileSketch dstCell, QuantileSketch srcCell) {
+    dstCell.merge(srcCell);
+  }
+
+  @Override
+  protected QuantileSketch newCell() {
+    return new QuantileSketch(sketchK);
+  }
+
+  @Override
+  public String toString() {
+    return "sketchedDistributionMRPAF(yFunction=" + yFunction + ')';
+  }
+}
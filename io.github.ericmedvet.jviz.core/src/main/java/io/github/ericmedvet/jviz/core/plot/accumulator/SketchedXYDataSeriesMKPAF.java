@@ -0,0 +1,94 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-core
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.core.plot.accumulator;
+
+import io.github.ericmedvet.jnb.datastructure.DoubleRange;
+import io.github.ericmedvet.jviz.core.plot.RangedValue;
+import io.github.ericmedvet.jviz.core.plot.Value;
+import io.github.ericmedvet.jviz.core.util.QuantileSketch;
+import java.util.function.Function;
+
+/**
+ * A bounded-memory counterpart of {@link AggregatedXYDataSeriesMKPAF}: instead of storing all the y values of each
+ * (x, line) pair, it stores one {@link QuantileSketch}, merging the values of all the runs. Hence, the value, min, and
+ * max of each point are computed by the aggregators on the sketch (e.g., as approximate quantiles or as exact mean)
+ * and no per-run filtering of values is possible.
+ */
+public abstract class SketchedXYDataSeriesMKPAF<E, K, L> extends AbstractXYDataSeriesMKPAF<E, K, L, QuantileSketch> {
+
+  private final Function<QuantileSketch, Number> valueAggregator;
+  private final Function<QuantileSketch, Number> minAggregator;
+  private final Function<QuantileSketch, Number> maxAggregator;
+  private final int sketchK;
+
+  public SketchedXYDataSeriesMKPAF(
+      Function<? super K, ? extends L> xSubplotFunction,
+      Function<? super K, ? extends L> ySubplotFunction,
+      Function<? super K, ? extends L> lineFunction,
+      Function<? super E, ? extends Number> yFunction,
+      Function<QuantileSketch, Number> valueAggregator,
+      Function<QuantileSketch, Number> minAggregator,
+      Function<QuantileSketch, Number> maxAggregator,
+      int sketchK,
+      DoubleRange xRange,
+      DoubleRange yRange,
+      boolean concurrent
+  ) {
+    super(xSubplotFunction, ySubplotFunction, lineFunction, yFunction, xRange, yRange, concurrent);
+    this.valueAggregator = valueAggregator;
+    this.minAggregator = minAggregator;
+    this.maxAggregator = maxAggregator;
+    this.sketchK = sketchK;
+  }
+
+  @Override
+  protected void add(QuantileSketch cell, K k, Number y) {
+    cell.add(y.doubleValue());
+  }
+
+  @Override
+  protected int cellSize(QuantileSketch cell) {
+    return cell.size();
+  }
+
+  @Override
+  protected void mergeCell(QuantileSketch dstCell, QuantileSketch srcCell) {
+    dstCell.merge(srcCell);
+  }
+
+  @Override
+  protected QuantileSketch newCell() {
+    return new QuantileSketch(sketchK);
+  }
+
+  @Override
+  protected Value reduce(QuantileSketch cell) {
+    return RangedValue.of(
+        valueAggregator.apply(cell).doubleValue(),
+        minAggregator.apply(cell).doubleValue(),
+        maxAggregator.apply(cell).doubleValue()
+    );
+  }
+
+  @Override
+  public String toString() {
+    return "sketchedXyMRPAF(xFunction=" + xName() + ";yFunction=" + yFunction + ')';
+  }
+}
@@ -25,7 +25,6 @@ import io.github.ericmedvet.jviz.core.plot.XYDataSeries;
 import io.github.ericmedvet.jviz.core.plot.XYDataSeriesPlot;
 import io.github.ericmedvet.jviz.core.plot.XYPlot;
 import io.github.ericmedvet.jviz.core.plot.image.PlotUtils.GMetrics;
-import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.geom.Line2D;
@@ -40,6 +39,8 @@ public abstract class AbstractXYDataSeriesPlotDrawer extends AbstractXYPlotDrawe
     super(configuration, xExtensionRate, yExtensionRate);
   }
 
+  private enum ContextKey { DATA_COLORS }
+
   protected abstract Point2D computeLegendImageSize(Graphics2D g);
 
   protected abstract void drawData(
@@ -57,13 +58,13 @@ public abstract class AbstractXYDataSeriesPlotDrawer extends AbstractXYPlotDrawe
   protected abstract List<Color> colors();
 
   @Override
-  public double computeLegendH(Graphics2D g, XYDataSeriesPlot p) {
+  public double computeLegendH(Graphics2D g, RenderContext rc, XYDataSeriesPlot p) {
     // prepare colors
-    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(p);
+    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(rc, p);
     Point2D legendImageSize = computeLegendImageSize(g);
-    return PlotUtils.computeItemsLegendSize(
+    return computeItemsLegendSize(
         g,
-        configuration(),
+        rc,
         dataColors,
         legendImageSize.getX(),
         legendImageSize.getY()
@@ -72,9 +73,9 @@ public abstract class AbstractXYDataSeriesPlotDrawer extends AbstractXYPlotDrawe
   }
 
   @Override
-  public void drawLegend(Graphics2D g, Rectangle2D r, XYDataSeriesPlot p) {
+  public void drawLegend(Graphics2D g, RenderContext rc, Rectangle2D r, XYDataSeriesPlot p) {
     // prepare colors
-    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(p);
+    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(rc, p);
     PlotUtils.drawItemsLegend(
         g,
         configuration(),
@@ -87,9 +88,18 @@ public abstract class AbstractXYDataSeriesPlotDrawer extends AbstractXYPlotDrawe
   }
 
   @Override
-  public void drawPlot(Graphics2D g, GMetrics gm, Rectangle2D r, Key k, Axis xA, Axis yA, XYDataSeriesPlot p) {
+  public void drawPlot(
+      Graphics2D g,
+      RenderContext rc,
+      GMetrics gm,
+      Rectangle2D r,
+      Key k,
+      Axis xA,
+      Axis yA,
+      XYDataSeriesPlot p
+  ) {
     g.setColor(configuration().colors().gridColor());
-    g.setStroke(new BasicStroke((float) (configuration().general().gridStrokeSizeRate() * gm.refL())));
+    g.setStroke(Style.of(configuration(), gm).stroke(configuration().general().gridStrokeSizeRate()));
     xA.ticks()
         .forEach(
             x -> g.draw(
@@ -113,13 +123,13 @@ public abstract class AbstractXYDataSeriesPlotDrawer extends AbstractXYPlotDrawe
             )
         );
     // prepare colors
-    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(p);
+    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(rc, p);
     // draw data
     p.dataGrid().get(k).data().forEach(ds -> drawData(g, gm, r, xA, yA, ds, dataColors.get(ds.name())));
   }
 
   @Override
-  public void drawNote(Graphics2D g, GMetrics gm, Rectangle2D r, Key k, XYDataSeriesPlot p) {
+  public void drawNote(Graphics2D g, RenderContext rc, GMetrics gm, Rectangle2D r, Key k, XYDataSeriesPlot p) {
     // do nothing
   }
 
@@ -133,20 +143,23 @@ public abstract class AbstractXYDataSeriesPlotDrawer extends AbstractXYPlotDrawe
   }
 
   @Override
-  public double computeNoteH(Graphics2D g, Key k, XYDataSeriesPlot xyDataSeriesPlot) {
+  public double computeNoteH(Graphics2D g, RenderContext rc, Key k, XYDataSeriesPlot xyDataSeriesPlot) {
     return 0;
   }
 
-  private SortedMap<String, Color> getComputeSeriesDataColors(XYDataSeriesPlot p) {
-    return PlotUtils.computeSeriesDataColors(
-        p.dataGrid()
-            .values()
-            .stream()
-            .map(XYPlot.TitledData::data)
-            .flatMap(List::stream)
-            .map(XYDataSeries::name)
-            .toList(),
-        colors()
+  private SortedMap<String, Color> getComputeSeriesDataColors(RenderContext rc, XYDataSeriesPlot p) {
+    return rc.get(
+        ContextKey.DATA_COLORS,
+        () -> PlotUtils.computeSeriesDataColors(
+            p.dataGrid()
+                .values()
+                .stream()
+                .map(XYPlot.TitledData::data)
+                .flatMap(List::stream)
+                .map(XYDataSeries::name)
+                .toList(),
+            colors()
+        )
     );
   }
 }
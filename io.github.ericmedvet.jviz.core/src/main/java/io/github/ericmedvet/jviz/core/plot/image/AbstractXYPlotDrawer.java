@@ -22,10 +22,13 @@ package io.github.ericmedvet.jviz.core.plot.image;
 import io.github.ericmedvet.jnb.datastructure.DoubleRange;
 import io.github.ericmedvet.jnb.datastructure.Grid;
 import io.github.ericmedvet.jviz.core.plot.XYPlot;
+import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.util.List;
 import java.util.Objects;
+import java.util.SortedMap;
 import java.util.logging.Logger;
 import java.util.stream.DoubleStream;
 import java.util.stream.Stream;
@@ -51,18 +54,38 @@ public abstract class AbstractXYPlotDrawer<P extends XYPlot<D>, D> implements XY
     return configuration;
   }
 
-  protected Grid<Axis> computeAxes(Graphics2D g, Layout l, boolean isXAxis, P p) {
-    return computeRanges(isXAxis, isXAxis ? xExtensionRate : yExtensionRate, p).entries()
-        .stream()
-        .map(e -> {
-          Rectangle2D r = l.innerPlot(e.key().x(), e.key().y());
-          double size = isXAxis ? r.getWidth() : r.getHeight();
-          return new Grid.Entry<>(
-              e.key(),
-              computeAxis(g, size, p.dataGrid().get(e.key()).data(), e.value(), isXAxis)
-          );
-        })
-        .collect(Grid.collector());
+  private record AxesKey(boolean isXAxis, Layout layout) {
+    // layouts are compared by identity, since their equality would compare the plots too
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof AxesKey other && other.isXAxis == isXAxis && other.layout == layout;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * Boolean.hashCode(isXAxis) + System.identityHashCode(layout);
+    }
+  }
+
+  private record ItemsLegendSizeKey(SortedMap<String, Color> items, double imageW, double imageH) {}
+
+  private record RangesKey(boolean isXAxis, double extensionRate) {}
+
+  protected Grid<Axis> computeAxes(Graphics2D g, RenderContext rc, Layout l, boolean isXAxis, P p) {
+    return rc.get(
+        new AxesKey(isXAxis, l),
+        () -> computeRanges(rc, isXAxis, isXAxis ? xExtensionRate : yExtensionRate, p).entries()
+            .stream()
+            .map(e -> {
+              Rectangle2D r = l.innerPlot(e.key().x(), e.key().y());
+              double size = isXAxis ? r.getWidth() : r.getHeight();
+              return new Grid.Entry<>(
+                  e.key(),
+                  computeAxis(g, size, p.dataGrid().get(e.key()).data(), e.value(), isXAxis)
+              );
+            })
+            .collect(Grid.collector())
+    );
   }
 
   protected Axis computeAxis(Graphics2D g, double size, D data, DoubleRange range, boolean isXAxis) {
@@ -86,7 +109,24 @@ public abstract class AbstractXYPlotDrawer<P extends XYPlot<D>, D> implements XY
 
   protected abstract DoubleRange computeRange(D data, boolean isXAxis, P p);
 
-  protected Grid<DoubleRange> computeRanges(boolean isXAxis, double extensionRate, P p) {
+  protected Point2D computeItemsLegendSize(
+      Graphics2D g,
+      RenderContext rc,
+      SortedMap<String, Color> items,
+      double imageW,
+      double imageH
+  ) {
+    return rc.get(
+        new ItemsLegendSizeKey(items, imageW, imageH),
+        () -> PlotUtils.computeItemsLegendSize(g, configuration, items, imageW, imageH)
+    );
+  }
+
+  protected Grid<DoubleRange> computeRanges(RenderContext rc, boolean isXAxis, double extensionRate, P p) {
+    return rc.get(new RangesKey(isXAxis, extensionRate), () -> computeRanges(isXAxis, extensionRate, p));
+  }
+
+  private Grid<DoubleRange> computeRanges(boolean isXAxis, double extensionRate, P p) {
     Grid<DoubleRange> grid = p.dataGrid()
         .map((k, td) -> {
           DoubleRange extRange = isXAxis ? p.xRange() : p.yRange();
@@ -146,12 +186,12 @@ public abstract class AbstractXYPlotDrawer<P extends XYPlot<D>, D> implements XY
   }
 
   @Override
-  public Grid<Axis> computeXAxes(Graphics2D g, Layout l, P p) {
-    return computeAxes(g, l, true, p);
+  public Grid<Axis> computeXAxes(Graphics2D g, RenderContext rc, Layout l, P p) {
+    return computeAxes(g, rc, l, true, p);
   }
 
   @Override
-  public Grid<Axis> computeYAxes(Graphics2D g, Layout l, P p) {
-    return computeAxes(g, l, false, p);
+  public Grid<Axis> computeYAxes(Graphics2D g, RenderContext rc, Layout l, P p) {
+    return computeAxes(g, rc, l, false, p);
   }
 }
@@ -26,17 +26,19 @@ import io.github.ericmedvet.jviz.core.plot.DistributionPlot.Data;
 import io.github.ericmedvet.jviz.core.plot.XYPlot;
 import io.github.ericmedvet.jviz.core.plot.image.Configuration.BoxPlot.ExtremeType;
 import io.github.ericmedvet.jviz.core.plot.image.PlotUtils.GMetrics;
-import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.SortedMap;
 import java.util.random.RandomGenerator;
-import java.util.stream.IntStream;
+import java.util.stream.Collectors;
 
 public class BoxPlotDrawer extends AbstractXYPlotDrawer<DistributionPlot, List<Data>> {
 
@@ -51,6 +53,7 @@ public class BoxPlotDrawer extends AbstractXYPlotDrawer<DistributionPlot, List<D
     this.c = configuration.boxPlot();
   }
 
+  private enum ContextKey { DATA_COLORS }
 
   @Override
   protected DoubleRange computeRange(List<Data> data, boolean isXAxis, DistributionPlot p) {
@@ -71,13 +74,13 @@ public class BoxPlotDrawer extends AbstractXYPlotDrawer<DistributionPlot, List<D
   }
 
   @Override
-  public double computeLegendH(Graphics2D g, DistributionPlot p) {
+  public double computeLegendH(Graphics2D g, RenderContext rc, DistributionPlot p) {
     GMetrics gm = new GMetrics(g);
     // prepare colors
-    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(p);
-    return PlotUtils.computeItemsLegendSize(
+    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(rc, p);
+    return computeItemsLegendSize(
         g,
-        configuration(),
+        rc,
         dataColors,
         c.legendImageWRate() * gm.w(),
         c.legendImageHRate() * gm.h()
@@ -86,10 +89,10 @@ public class BoxPlotDrawer extends AbstractXYPlotDrawer<DistributionPlot, List<D
   }
 
   @Override
-  public void drawLegend(Graphics2D g, Rectangle2D r, DistributionPlot p) {
+  public void drawLegend(Graphics2D g, RenderContext rc, Rectangle2D r, DistributionPlot p) {
     GMetrics gm = new GMetrics(g);
     // prepare colors
-    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(p);
+    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(rc, p);
     PlotUtils.drawItemsLegend(
         g,
         configuration(),
@@ -119,13 +122,14 @@ public class BoxPlotDrawer extends AbstractXYPlotDrawer<DistributionPlot, List<D
   }
 
   @Override
-  public double computeNoteH(Graphics2D g, Key k, DistributionPlot p) {
+  public double computeNoteH(Graphics2D g, RenderContext rc, Key k, DistributionPlot p) {
     return 0;
   }
 
   @Override
   public void drawPlot(
       Graphics2D g,
+      RenderContext rc,
       GMetrics gm,
       Rectangle2D r,
       Key k,
@@ -134,11 +138,9 @@ public class BoxPlotDrawer extends AbstractXYPlotDrawer<DistributionPlot, List<D
       DistributionPlot p
   ) {
     // prepare colors
-    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(p);
+    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(rc, p);
     g.setColor(configuration().colors().gridColor());
-    g.setStroke(
-        new BasicStroke((float) (configuration().general().gridStrokeSizeRate() * gm.refL()))
-    );
+    g.setStroke(Style.of(configuration(), gm).stroke(configuration().general().gridStrokeSizeRate()));
     yA.ticks()
         .forEach(
             y -> g.draw(
@@ -152,107 +154,174 @@ public class BoxPlotDrawer extends AbstractXYPlotDrawer<DistributionPlot, List<D
         );
     // draw data
     List<String> names = dataColors.keySet().stream().toList();
+    Map<String, Data> data = p.dataGrid()
+        .get(k)
+        .data()
+        .stream()
+        .collect(Collectors.toMap(Data::name, d -> d, (d1, d2) -> d1));
     double w = r.getWidth() / ((double) names.size()) * c.boxWRate();
-    IntStream.range(0, names.size())
-        .filter(
-            i -> p.dataGrid()
-                .get(k)
-                .data()
-                .stream()
-                .map(DistributionPlot.Data::name)
-                .anyMatch(n -> names.get(i).equals(n))
-        )
-        .forEach(
-            x -> p.dataGrid()
-                .get(k)
-                .data()
-                .stream()
-                .filter(d -> d.name().equals(names.get(x)))
-                .findFirst()
-                .ifPresent(d -> {
-                  // draw box
-                  double topY = yA.yIn(
-                      switch (c.extremeType()) {
-                        case MIN_MAX -> d.stats().min();
-                        case IQR_1_5 -> d.stats().q1minus15IQR();
-                      },
-                      r
-                  );
-                  double bottomY = yA.yIn(
-                      switch (c.extremeType()) {
-                        case MIN_MAX -> d.stats().max();
-                        case IQR_1_5 -> d.stats().q3plus15IQR();
-                      },
-                      r
-                  );
-                  double innerTopY = yA.yIn(d.stats().q1(), r);
-                  double innerBottomY = yA.yIn(d.stats().q3(), r);
-                  double centerY = yA.yIn(
-                      switch (c.midType()) {
-                        case MEAN -> d.stats().mean();
-                        case MEDIAN -> d.stats().median();
-                      },
-                      r
-                  );
-                  Rectangle2D bR = new Rectangle2D.Double(
-                      xA.xIn(x, r) - w / 2d,
-                      bottomY,
-                      w,
-                      topY - bottomY
-                  );
-                  PlotUtils.drawBoxAndWhiskers(
-                      g,
-                      configuration(),
-                      gm,
-                      bR,
-                      dataColors.get(names.get(x)),
-                      innerBottomY,
-                      centerY,
-                      innerTopY,
-                      c.alpha(),
-                      c.boxWRate(),
-                      c.strokeSizeRate()
-                  );
-                  // draw markers
-                  if (c.markers()) {
-                    RandomGenerator rg = new Random(1);
-                    double l = c.markerSizeRate() * gm.refL();
-                    double strokeSize = c.strokeSizeRate() * gm.refL();
-                    d.yValues()
-                        .forEach(
-                            y -> PlotUtils.drawMarker(
-                                g,
-                                new Point2D.Double(
-                                    xA.xIn(x, r) - w / 2 + w * (c.jitter() ? rg.nextDouble(0, 1) : 0.5),
-                                    yA.yIn(y, r)
-                                ),
-                                l,
-                                c.marker(),
-                                dataColors.get(names.get(x)),
-                                c.alpha(),
-                                strokeSize
-                            )
-                        );
-                  }
-                })
-        );
+    for (int x = 0; x < names.size(); x++) {
+      Data d = data.get(names.get(x));
+      if (d == null) {
+        continue;
+      }
+      Color color = dataColors.get(names.get(x));
+      // draw box
+      double topY = yA.yIn(
+          switch (c.extremeType()) {
+            case MIN_MAX -> d.stats().min();
+            case IQR_1_5 -> d.stats().q1minus15IQR();
+          },
+          r
+      );
+      double bottomY = yA.yIn(
+          switch (c.extremeType()) {
+            case MIN_MAX -> d.stats().max();
+            case IQR_1_5 -> d.stats().q3plus15IQR();
+          },
+          r
+      );
+      double innerTopY = yA.yIn(d.stats().q1(), r);
+      double innerBottomY = yA.yIn(d.stats().q3(), r);
+      double centerY = yA.yIn(
+          switch (c.midType()) {
+            case MEAN -> d.stats().mean();
+            case MEDIAN -> d.stats().median();
+          },
+          r
+      );
+      Rectangle2D bR = new Rectangle2D.Double(
+          xA.xIn(x, r) - w / 2d,
+          bottomY,
+          w,
+          topY - bottomY
+      );
+      PlotUtils.drawBoxAndWhiskers(
+          g,
+          configuration(),
+          gm,
+          bR,
+          color,
+          innerBottomY,
+          centerY,
+          innerTopY,
+          c.alpha(),
+          c.boxWRate(),
+          c.strokeSizeRate()
+      );
+      // draw markers
+      if (c.markers()) {
+        double l = c.markerSizeRate() * gm.refL();
+        if (d.yValues().size() > c.markersDensityThreshold()) {
+          drawDensityStrip(g, gm, r, yA, xA.xIn(x, r), w, l, d, color);
+          continue;
+        }
+        RandomGenerator rg = new Random(1);
+        Style style = Style.of(configuration(), gm);
+        double boxX = xA.xIn(x, r);
+        d.yValues()
+            .forEach(
+                y -> PlotUtils.drawMarker(
+                    g,
+                    style,
+                    new Point2D.Double(
+                        boxX - w / 2 + w * (c.jitter() ? rg.nextDouble(0, 1) : 0.5),
+                        yA.yIn(y, r)
+                    ),
+                    l,
+                    c.marker(),
+                    color,
+                    c.alpha(),
+                    c.strokeSizeRate()
+                )
+            );
+      }
+    }
   }
 
-  private SortedMap<String, Color> getComputeSeriesDataColors(DistributionPlot p) {
-    return PlotUtils.computeSeriesDataColors(
-        p.dataGrid()
-            .values()
-            .stream()
-            .map(XYPlot.TitledData::data)
-            .flatMap(List::stream)
-            .map(Data::name)
-            .toList(),
-        c.colors()
+  /**
+   * Draws the values of a box as a symmetric density strip, rather than one marker per value. Values are counted in
+   * bins as tall as a marker, with a single pass, and each bin is drawn as wide as the box times the ratio between its
+   * count and the largest count.
+   */
+  private void drawDensityStrip(
+      Graphics2D g,
+      GMetrics gm,
+      Rectangle2D r,
+      Axis yA,
+      double centerX,
+      double w,
+      double binH,
+      Data d,
+      Color color
+  ) {
+    int nOfBins = Math.max(1, (int) Math.ceil(r.getHeight() / binH));
+    int[] counts = new int[nOfBins];
+    double[] ys = d.yValues().stream().mapToDouble(v -> v).toArray();
+    for (double y : ys) {
+      double dy = yA.yIn(y, r) - r.getY();
+      if (dy >= 0 && dy <= r.getHeight()) {
+        // values at the bottom edge would go in bin nOfBins when the height is a multiple of binH
+        int i = Math.min(nOfBins - 1, (int) Math.floor(dy / binH));
+        counts[i] = counts[i] + 1;
+      }
+    }
+    int maxCount = Arrays.stream(counts).max().orElse(0);
+    if (maxCount == 0) {
+      return;
+    }
+    // one closed outline for each run of non-empty bins
+    Path2D strip = new Path2D.Double();
+    int from = 0;
+    while (from < nOfBins) {
+      if (counts[from] == 0) {
+        from = from + 1;
+        continue;
+      }
+      int to = from;
+      while (to < nOfBins && counts[to] > 0) {
+        to = to + 1;
+      }
+      strip.moveTo(centerX, r.getY() + from * binH);
+      for (int i = from; i < to; i++) {
+        double halfW = w / 2d * counts[i] / maxCount;
+        strip.lineTo(centerX + halfW, r.getY() + i * binH);
+        strip.lineTo(centerX + halfW, r.getY() + (i + 1) * binH);
+      }
+      for (int i = to - 1; i >= from; i--) {
+        double halfW = w / 2d * counts[i] / maxCount;
+        strip.lineTo(centerX - halfW, r.getY() + (i + 1) * binH);
+        strip.lineTo(centerX - halfW, r.getY() + i * binH);
+      }
+      strip.closePath();
+      from = to;
+    }
+    Style style = Style.of(configuration(), gm);
+    g.setColor(style.alphaed(color, c.alpha()));
+    g.fill(strip);
+    g.setColor(color);
+    g.setStroke(style.stroke(c.strokeSizeRate()));
+    g.draw(strip);
+  }
+
+  private SortedMap<String, Color> getComputeSeriesDataColors(RenderContext rc, DistributionPlot p) {
+    return rc.get(
+        ContextKey.DATA_COLORS,
+        () -> PlotUtils.computeSeriesDataColors(
+            p.dataGrid()
+                .values()
+                .stream()
+                .map(XYPlot.TitledData::data)
+                .flatMap(List::stream)
+                .map(Data::name)
+                .toList(),
+            c.colors()
+        )
     );
   }
 
   @Override
-  public void drawNote(Graphics2D g, GMetrics gm, Rectangle2D r, Key k, DistributionPlot p) {
+  public void drawNote(Graphics2D g, RenderContext rc, GMetrics gm, Rectangle2D r, Key k, DistributionPlot p) {
     // do nothing
   }
 
@@ -23,13 +23,41 @@ import io.github.ericmedvet.jnb.datastructure.DoubleRange;
 import java.awt.Color;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 public record ColorRange(List<Color> colors) {
 
+  /**
+   * The number of entries of the lookup tables used by {@link #color(double)}, {@link #rgb(double)}, and
+   * {@link #rgbs(double[])}: the error with respect to {@link #interpolate(double)} is at most {@code 1/(2*(LUT_SIZE-1))}
+   * on the normalized value.
+   */
+  public static final int LUT_SIZE = 4096;
+  private static final int MAX_LUTS_SIZE = 64;
+  private static final Map<ColorRange, Lut> LUTS = new ConcurrentHashMap<>();
+
+  private record Lut(int[] rgbs, Color[] colors) {}
+
   public ColorRange(Color... colors) {
     this(Arrays.stream(colors).toList());
   }
 
+  private static int lutIndex(double v) {
+    int i = (int) (v * (LUT_SIZE - 1) + 0.5d);
+    return Math.max(0, Math.min(LUT_SIZE - 1, i));
+  }
+
+  /**
+   * Returns the color for the normalized value {@code v} taken from a precomputed lookup table. Values outside
+   * {@code [0,1]} are clipped and {@code NaN} is mapped to the first color. The returned instances are shared, hence
+   * no object is allocated.
+   */
+  public Color color(double v) {
+    return lut().colors[lutIndex(v)];
+  }
+
   public Color interpolate(double v) {
     int i = (int) Math.floor(new DoubleRange(0, colors.size() - 1).denormalize(v));
     double extent = 1d / (colors.size() - 1d);
@@ -54,4 +82,49 @@ public record ColorRange(List<Color> colors) {
         (float) (minB + (maxB - minB) * v)
     );
   }
+
+  private Lut lut() {
+    Lut lut = LUTS.get(this);
+    if (lut == null) {
+      if (LUTS.size() >= MAX_LUTS_SIZE) {
+        LUTS.clear();
+      }
+      lut = LUTS.computeIfAbsent(this, ColorRange::buildLut);
+    }
+    return lut;
+  }
+
+  private static Lut buildLut(ColorRange colorRange) {
+    Color[] colors = IntStream.range(0, LUT_SIZE)
+        .mapToObj(i -> colorRange.interpolate(i / (LUT_SIZE - 1d)))
+        .toArray(Color[]::new);
+    return new Lut(Arrays.stream(colors).mapToInt(Color::getRGB).toArray(), colors);
+  }
+
+  /**
+   * Returns the packed ARGB color for the normalized value {@code v}, as {@link #color(double)}.
+   */
+  public int rgb(double v) {
+    return lut().rgbs[lutIndex(v)];
+  }
+
+  /**
+   * Maps, in bulk, the normalized values {@code vs} to packed ARGB colors, as {@link #rgb(double)}, storing them in
+   * {@code rgbs}, which must be at least as long as {@code vs}.
+   */
+  public void rgbs(double[] vs, int[] rgbs) {
+    int[] lutRgbs = lut().rgbs;
+    for (int i = 0; i < vs.length; i++) {
+      rgbs[i] = lutRgbs[lutIndex(vs[i])];
+    }
+  }
+
+  /**
+   * Maps, in bulk, the normalized values {@code vs} to packed ARGB colors, as {@link #rgb(double)}.
+   */
+  public int[] rgbs(double[] vs) {
+    int[] rgbs = new int[vs.length];
+    rgbs(vs, rgbs);
+    return rgbs;
+  }
 }
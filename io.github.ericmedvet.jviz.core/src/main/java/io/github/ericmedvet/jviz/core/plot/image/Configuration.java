@@ -84,9 +84,11 @@ public record Configuration(
       List<Color> colors,
       double yExtensionRate,
       boolean markers,
-      boolean jitter
+      boolean jitter,
+      int markersDensityThreshold
   ) {
 
+    public static final int DEFAULT_MARKERS_DENSITY_THRESHOLD = 10000;
     public static final BoxPlot DEFAULT = new BoxPlot(
         LinesPlot.DEFAULT.strokeSizeRate,
         LinesPlot.DEFAULT.markerSizeRate,
@@ -101,9 +103,45 @@ public record Configuration(
         Colors.DEFAULT.dataColors(),
         LinesPlot.DEFAULT.yExtensionRate,
         false,
-        true
+        true,
+        DEFAULT_MARKERS_DENSITY_THRESHOLD
     );
 
+    public BoxPlot(
+        double strokeSizeRate,
+        double markerSizeRate,
+        XYPlotDrawer.Marker marker,
+        double boxWRate,
+        double whiskersWRate,
+        double legendImageWRate,
+        double legendImageHRate,
+        ExtremeType extremeType,
+        MidType midType,
+        double alpha,
+        List<Color> colors,
+        double yExtensionRate,
+        boolean markers,
+        boolean jitter
+    ) {
+      this(
+          strokeSizeRate,
+          markerSizeRate,
+          marker,
+          boxWRate,
+          whiskersWRate,
+          legendImageWRate,
+          legendImageHRate,
+          extremeType,
+          midType,
+          alpha,
+          colors,
+          yExtensionRate,
+          markers,
+          jitter,
+          DEFAULT_MARKERS_DENSITY_THRESHOLD
+      );
+    }
+
     public enum ExtremeType {
       MIN_MAX, IQR_1_5
     }
@@ -297,9 +335,11 @@ public record Configuration(
       XYPlotDrawer.Marker marker,
       List<Color> colors,
       double xExtensionRate,
-      double yExtensionRate
+      double yExtensionRate,
+      int densityThreshold
   ) {
 
+    public static final int DEFAULT_DENSITY_THRESHOLD = 100000;
     public static final PointsPlot DEFAULT = new PointsPlot(
         0.0015,
         0.005,
@@ -308,8 +348,32 @@ public record Configuration(
         XYPlotDrawer.Marker.CIRCLE,
         Colors.DEFAULT.dataColors(),
         LinesPlot.DEFAULT.xExtensionRate,
-        LinesPlot.DEFAULT.yExtensionRate
+        LinesPlot.DEFAULT.yExtensionRate,
+        DEFAULT_DENSITY_THRESHOLD
     );
+
+    public PointsPlot(
+        double strokeSizeRate,
+        double markerSizeRate,
+        double alpha,
+        double legendImageSizeRate,
+        XYPlotDrawer.Marker marker,
+        List<Color> colors,
+        double xExtensionRate,
+        double yExtensionRate
+    ) {
+      this(
+          strokeSizeRate,
+          markerSizeRate,
+          alpha,
+          legendImageSizeRate,
+          marker,
+          colors,
+          xExtensionRate,
+          yExtensionRate,
+          DEFAULT_DENSITY_THRESHOLD
+      );
+    }
   }
 
   public record Text(double fontSizeRate, Map<Use, Double> sizeRates, String fontName) {
@@ -333,23 +397,50 @@ public record Configuration(
     }
   }
 
+  /**
+   * The configuration of univariate grid plots. On raster targets, the cells of each grid are always drawn as one
+   * image. On vector targets, they are drawn as one rectangle each, unless the plot as a whole, i.e., all its grids
+   * together, has more than {@code vectorCellsThreshold} cells: in that case, they are drawn as one image per grid too.
+   */
   public record UnivariateGridPlot(
       double cellSideRate,
       int legendSteps,
       double legendImageWRate,
       double legendImageHRate,
       boolean showRanges,
-      ColorRange colorRange
+      ColorRange colorRange,
+      int vectorCellsThreshold
   ) {
 
+    public static final int DEFAULT_VECTOR_CELLS_THRESHOLD = 10000;
     public static final UnivariateGridPlot DEFAULT = new UnivariateGridPlot(
         0.9,
         20,
         0.2,
         0.025,
         true,
-        Colors.DEFAULT.continuousDataColorRanges().getFirst()
+        Colors.DEFAULT.continuousDataColorRanges().getFirst(),
+        DEFAULT_VECTOR_CELLS_THRESHOLD
     );
+
+    public UnivariateGridPlot(
+        double cellSideRate,
+        int legendSteps,
+        double legendImageWRate,
+        double legendImageHRate,
+        boolean showRanges,
+        ColorRange colorRange
+    ) {
+      this(
+          cellSideRate,
+          legendSteps,
+          legendImageWRate,
+          legendImageHRate,
+          showRanges,
+          colorRange,
+          DEFAULT_VECTOR_CELLS_THRESHOLD
+      );
+    }
   }
 
   public record VectorialFieldPlot(
@@ -28,11 +28,14 @@ import io.github.ericmedvet.jviz.core.plot.XYDataSeries;
 import io.github.ericmedvet.jviz.core.plot.image.PlotUtils.GMetrics;
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.util.List;
 import java.util.SortedMap;
-import java.util.function.DoubleBinaryOperator;
 
 public class LandscapePlotDrawer extends AbstractXYPlotDrawer<LandscapePlot, LandscapePlot.Data> {
 
@@ -51,14 +54,40 @@ public class LandscapePlotDrawer extends AbstractXYPlotDrawer<LandscapePlot, Lan
     this.c = configuration.landscapePlot();
   }
 
+  private enum ContextKey { DATA_COLORS, FIELDS, VALUE_RANGE, VALUE_RANGES }
+
+  /**
+   * The function of a plot cell sampled on the lattice {@code xs} times {@code ys}, with the value at {@code (xs[i],
+   * ys[j])} stored in {@code vs[i * ys.length + j]}.
+   */
+  private record Field(double[] xs, double[] ys, double[] vs) {
+    double v(int i, int j) {
+      return vs[i * ys.length + j];
+    }
+
+    DoubleRange valueRange() {
+      double min = Double.POSITIVE_INFINITY;
+      double max = Double.NEGATIVE_INFINITY;
+      for (double v : vs) {
+        if (v < min) {
+          min = v;
+        }
+        if (v > max) {
+          max = v;
+        }
+      }
+      return min > max ? new DoubleRange(0, 1) : new DoubleRange(min, max);
+    }
+  }
+
   @Override
-  public double computeLegendH(Graphics2D g, LandscapePlot p) {
+  public double computeLegendH(Graphics2D g, RenderContext rc, LandscapePlot p) {
     GMetrics gm = new GMetrics(g);
     // prepare colors
-    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(p);
-    double itemsLegendH = PlotUtils.computeItemsLegendSize(
+    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(rc, p);
+    double itemsLegendH = computeItemsLegendSize(
         g,
-        configuration(),
+        rc,
         dataColors,
         configuration().layout().legendInnerMarginWRate() * gm.w(),
         configuration().layout().legendInnerMarginHRate() * gm.h()
@@ -73,7 +102,7 @@ public class LandscapePlotDrawer extends AbstractXYPlotDrawer<LandscapePlot, Lan
   }
 
   @Override
-  public double computeNoteH(Graphics2D g, Key k, LandscapePlot p) {
+  public double computeNoteH(Graphics2D g, RenderContext rc, Key k, LandscapePlot p) {
     GMetrics gm = new GMetrics(g);
     return c.showRanges() ? (c.colorBarLegendImageHRate() * gm.h() + PlotUtils.computeStringH(
         g,
@@ -83,14 +112,14 @@ public class LandscapePlotDrawer extends AbstractXYPlotDrawer<LandscapePlot, Lan
   }
 
   @Override
-  public void drawLegend(Graphics2D g, Rectangle2D r, LandscapePlot p) {
+  public void drawLegend(Graphics2D g, RenderContext rc, Rectangle2D r, LandscapePlot p) {
     // prepare colors
-    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(p);
+    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(rc, p);
     GMetrics gm = new GMetrics(g);
     double l = c.markerSizeRate() * gm.refL();
-    double itemsLegendH = PlotUtils.computeItemsLegendSize(
+    double itemsLegendH = computeItemsLegendSize(
         g,
-        configuration(),
+        rc,
         dataColors,
         configuration().layout().legendInnerMarginWRate() * gm.w(),
         configuration().layout().legendInnerMarginHRate() * gm.h()
@@ -109,12 +138,13 @@ public class LandscapePlotDrawer extends AbstractXYPlotDrawer<LandscapePlot, Lan
         legendImageSize.getY(),
         (g1, ir, color) -> PlotUtils.drawMarker(
             g1,
+            Style.of(configuration(), gm),
             new Point2D.Double(ir.getCenterX(), ir.getCenterY()),
             l,
             c.marker(),
             color,
             c.alpha(),
-            c.dataStrokeSizeRate() * gm.refL()
+            c.dataStrokeSizeRate()
         )
     );
     r = new Rectangle2D.Double(
@@ -123,7 +153,7 @@ public class LandscapePlotDrawer extends AbstractXYPlotDrawer<LandscapePlot, Lan
         r.getWidth(),
         r.getHeight() - configuration().layout().legendInnerMarginHRate() * gm.h() - itemsLegendH
     );
-    DoubleRange valueRange = computeValueRange(p, gm);
+    DoubleRange valueRange = computeValueRange(rc, p, gm);
     PlotUtils.drawColorBar(
         g,
         configuration(),
@@ -147,24 +177,22 @@ public class LandscapePlotDrawer extends AbstractXYPlotDrawer<LandscapePlot, Lan
   }
 
   @Override
-  public void drawPlot(Graphics2D g, GMetrics gm, Rectangle2D r, Key k, Axis xA, Axis yA, LandscapePlot p) {
-    Grid<DoubleRange> xRanges = computeRanges(true, c.xExtensionRate(), p);
-    Grid<DoubleRange> yRanges = computeRanges(false, c.xExtensionRate(), p);
-    DoubleRange valueRange = computeValueRange(p, gm);
-    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(p);
+  public void drawPlot(
+      Graphics2D g,
+      RenderContext rc,
+      GMetrics gm,
+      Rectangle2D r,
+      Key k,
+      Axis xA,
+      Axis yA,
+      LandscapePlot p
+  ) {
+    DoubleRange valueRange = computeValueRange(rc, p, gm);
+    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(rc, p);
     // draw function
-    double w = r.getWidth() * c.fDensity();
-    double h = r.getHeight() * c.fDensity();
-    double cellS = 1d / c.fDensity() + 1;
-    xRanges.get(k)
-        .points((int) w)
-        .forEach(x -> yRanges.get(k).points((int) h).forEach(y -> {
-          double v = p.dataGrid().get(k).data().f().applyAsDouble(x, y);
-          g.setColor(c.colorRange().interpolate(valueRange.normalize(v)));
-          g.fill(new Rectangle2D.Double(xA.xIn(x, r), yA.yIn(y, r) - cellS, cellS, cellS));
-        }));
+    drawField(g, computeFields(rc, p, gm).get(k), valueRange, r, xA, yA);
     // draw points
-    double strokeSize = c.dataStrokeSizeRate() * gm.refL();
+    Style style = Style.of(configuration(), gm);
     double l = c.markerSizeRate() * gm.refL();
     p.dataGrid().get(k).data().xyDataSeries().forEach(ds -> {
       Color color = dataColors.get(ds.name());
@@ -172,6 +200,7 @@ public class LandscapePlotDrawer extends AbstractXYPlotDrawer<LandscapePlot, Lan
           .forEach(
               point -> PlotUtils.drawMarker(
                   g,
+                  style,
                   new Point2D.Double(
                       xA.xIn(point.x().v(), r),
                       yA.yIn(point.y().v(), r)
@@ -180,19 +209,56 @@ public class LandscapePlotDrawer extends AbstractXYPlotDrawer<LandscapePlot, Lan
                   c.marker(),
                   color,
                   c.alpha(),
-                  strokeSize
+                  c.dataStrokeSizeRate()
               )
           );
     });
   }
 
+  /**
+   * Draws the field as one image with one pixel per sample, scaled so that each sample covers the area on the right
+   * and above it, up to the next sample. Samples with {@code NaN} value are left transparent.
+   */
+  private void drawField(Graphics2D g, Field field, DoubleRange valueRange, Rectangle2D r, Axis xA, Axis yA) {
+    int nX = field.xs().length;
+    int nY = field.ys().length;
+    if (nX == 0 || nY == 0) {
+      return;
+    }
+    double[] nVs = new double[field.vs().length];
+    for (int i = 0; i < nVs.length; i++) {
+      nVs[i] = valueRange.normalize(field.vs()[i]);
+    }
+    int[] rgbs = c.colorRange().rgbs(nVs);
+    BufferedImage image = new BufferedImage(nX, nY, BufferedImage.TYPE_INT_ARGB);
+    int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    for (int i = 0; i < nX; i++) {
+      for (int j = 0; j < nY; j++) {
+        int k = i * nY + j;
+        pixels[(nY - 1 - j) * nX + i] = Double.isNaN(nVs[k]) ? 0 : rgbs[k];
+      }
+    }
+    double cellS = 1d / c.fDensity() + 1;
+    double x0 = xA.xIn(field.xs()[0], r);
+    double y0 = yA.yIn(field.ys()[nY - 1], r);
+    double cellW = nX > 1 ? (xA.xIn(field.xs()[nX - 1], r) - x0) / (nX - 1d) : cellS;
+    double cellH = nY > 1 ? (yA.yIn(field.ys()[0], r) - y0) / (nY - 1d) : cellS;
+    AffineTransform t = AffineTransform.getTranslateInstance(x0, y0 - cellH);
+    t.scale(cellW, cellH);
+    // draw on a copy of the graphics, for not leaving the interpolation hint set on g
+    Graphics2D imageG = (Graphics2D) g.create();
+    imageG.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+    imageG.drawImage(image, t, null);
+    imageG.dispose();
+  }
+
   @Override
-  public void drawNote(Graphics2D g, GMetrics gm, Rectangle2D r, Key k, LandscapePlot p) {
+  public void drawNote(Graphics2D g, RenderContext rc, GMetrics gm, Rectangle2D r, Key k, LandscapePlot p) {
     if (!c.showRanges()) {
       return;
     }
-    DoubleRange valueRange = computeValueRange(p, gm);
-    Grid<DoubleRange> valueRanges = computeValueRanges(p, gm);
+    DoubleRange valueRange = computeValueRange(rc, p, gm);
+    Grid<DoubleRange> valueRanges = computeValueRanges(rc, p, gm);
     PlotUtils.drawColorBar(
         g,
         configuration(),
@@ -210,15 +276,17 @@ public class LandscapePlotDrawer extends AbstractXYPlotDrawer<LandscapePlot, Lan
     );
   }
 
-  private DoubleRange computeValueRange(LandscapePlot p, GMetrics gm) {
-    DoubleRange valueRange;
-    if (p.valueRange().equals(DoubleRange.UNBOUNDED)) {
-      Grid<DoubleRange> valueRanges = computeValueRanges(p, gm);
-      valueRange = DoubleRange.largest(valueRanges.values().stream().toList());
-    } else {
-      valueRange = p.valueRange();
-    }
-    return valueRange;
+  private DoubleRange computeValueRange(RenderContext rc, LandscapePlot p, GMetrics gm) {
+    return rc.get(ContextKey.VALUE_RANGE, () -> {
+      DoubleRange valueRange;
+      if (p.valueRange().equals(DoubleRange.UNBOUNDED)) {
+        Grid<DoubleRange> valueRanges = computeValueRanges(rc, p, gm);
+        valueRange = DoubleRange.largest(valueRanges.values().stream().toList());
+      } else {
+        valueRange = p.valueRange();
+      }
+      return valueRange;
+    });
   }
 
   @Override
@@ -230,49 +298,47 @@ public class LandscapePlotDrawer extends AbstractXYPlotDrawer<LandscapePlot, Lan
         .orElseThrow();
   }
 
-  private DoubleRange computeValueRange(Grid.Key k, double w, double h, LandscapePlot p) {
-    Grid<DoubleRange> xRanges = computeRanges(true, c.xExtensionRate(), p);
-    Grid<DoubleRange> yRanges = computeRanges(false, c.xExtensionRate(), p);
-    DoubleRange xRange = xRanges.get(k);
-    DoubleRange yRange = yRanges.get(k);
-    DoubleBinaryOperator f = p.dataGrid().get(k).data().f();
-    List<Double> vs = xRange.points((int) w)
-        .mapToObj(
-            x -> yRange.points((int) h)
-                .map(y -> f.applyAsDouble(x, y))
-                .boxed()
-                .toList()
-        )
-        .flatMap(List::stream)
-        .toList();
-    return new DoubleRange(
-        vs.stream().min(Double::compareTo).orElse(0d),
-        vs.stream().max(Double::compareTo).orElse(1d)
-    );
+  private Field computeField(RenderContext rc, Grid.Key k, double w, double h, LandscapePlot p) {
+    Grid<DoubleRange> xRanges = computeRanges(rc, true, c.xExtensionRate(), p);
+    Grid<DoubleRange> yRanges = computeRanges(rc, false, c.xExtensionRate(), p);
+    double[] xs = xRanges.get(k).points((int) w).toArray();
+    double[] ys = yRanges.get(k).points((int) h).toArray();
+    return new Field(xs, ys, LandscapePlot.BatchFunction.of(p.dataGrid().get(k).data().f()).sample(xs, ys));
   }
 
-  private Grid<DoubleRange> computeValueRanges(LandscapePlot p, GMetrics gm) {
-    return p.dataGrid()
-        .map(
-            (k, td) -> computeValueRange(
-                k,
-                gm.w() / p.dataGrid().w() * c.fDensity(),
-                gm.h() / p.dataGrid().h() * c.fDensity(),
-                p
+  private Grid<Field> computeFields(RenderContext rc, LandscapePlot p, GMetrics gm) {
+    return rc.get(
+        ContextKey.FIELDS,
+        () -> p.dataGrid()
+            .map(
+                (k, td) -> computeField(
+                    rc,
+                    k,
+                    gm.w() / p.dataGrid().w() * c.fDensity(),
+                    gm.h() / p.dataGrid().h() * c.fDensity(),
+                    p
+                )
             )
-        );
+    );
   }
 
-  private SortedMap<String, Color> getComputeSeriesDataColors(LandscapePlot p) {
-    return PlotUtils.computeSeriesDataColors(
-        p.dataGrid()
-            .values()
-            .stream()
-            .map(td -> td.data().xyDataSeries())
-            .flatMap(List::stream)
-            .map(XYDataSeries::name)
-            .toList(),
-        c.colors()
+  private Grid<DoubleRange> computeValueRanges(RenderContext rc, LandscapePlot p, GMetrics gm) {
+    return rc.get(ContextKey.VALUE_RANGES, () -> computeFields(rc, p, gm).map(Field::valueRange));
+  }
+
+  private SortedMap<String, Color> getComputeSeriesDataColors(RenderContext rc, LandscapePlot p) {
+    return rc.get(
+        ContextKey.DATA_COLORS,
+        () -> PlotUtils.computeSeriesDataColors(
+            p.dataGrid()
+                .values()
+                .stream()
+                .map(td -> td.data().xyDataSeries())
+                .flatMap(List::stream)
+                .map(XYDataSeries::name)
+                .toList(),
+            c.colors()
+        )
     );
   }
 }
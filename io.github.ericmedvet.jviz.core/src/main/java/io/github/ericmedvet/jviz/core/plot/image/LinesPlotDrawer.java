@@ -22,20 +22,23 @@ package io.github.ericmedvet.jviz.core.plot.image;
 import io.github.ericmedvet.jviz.core.plot.RangedValue;
 import io.github.ericmedvet.jviz.core.plot.XYDataSeries;
 import io.github.ericmedvet.jviz.core.plot.image.PlotUtils.GMetrics;
-import io.github.ericmedvet.jviz.core.util.GraphicsUtils;
-import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Line2D;
 import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.IntStream;
 
 public class LinesPlotDrawer extends AbstractXYDataSeriesPlotDrawer {
 
+  private static final int LOD_POINTS_PER_BUCKET = 4;
+  private static final int LOD_QUANTILES_PER_BUCKET = 16;
+
   private final Configuration.LinesPlot c;
 
   public LinesPlotDrawer() {
@@ -47,10 +50,103 @@ public class LinesPlotDrawer extends AbstractXYDataSeriesPlotDrawer {
     this.c = configuration.linesPlot();
   }
 
-  private static <T> List<T> reverse(List<T> ts) {
-    return IntStream.range(0, ts.size())
-        .mapToObj(i -> ts.get(ts.size() - 1 - i))
-        .toList();
+  /**
+   * Returns the device pixel columns of the given x coordinates in the graphics space, i.e., the x coordinates
+   * transformed with the (possibly scaled and translated) transform of {@code g} and floored.
+   */
+  private static double[] columns(Graphics2D g, double[] xs) {
+    AffineTransform t = g.getTransform();
+    return Arrays.stream(xs).map(x -> Math.floor(x * t.getScaleX() + t.getTranslateX())).toArray();
+  }
+
+  private static boolean isDense(double[] columns) {
+    int n = columns.length;
+    return n > 0 && (Math.abs(columns[n - 1] - columns[0]) + 1) * LOD_POINTS_PER_BUCKET < n;
+  }
+
+  /**
+   * Returns the coordinates (as two arrays, for x and y) of the points to be actually used for the boundary of a filled
+   * area, given the coordinates of the points sorted by x and their device pixel {@code columns}. If there are more
+   * than {@link #LOD_POINTS_PER_BUCKET} points per column, on average, the points of each column are replaced by (at
+   * most) {@link #LOD_QUANTILES_PER_BUCKET} points, evenly spread along x within the column, whose y are the quantiles
+   * of the y of the original points. The coverage of a pixel by a filled area depends on the distribution of the
+   * boundary within the pixel, rather than only on its extremes: the quantiles preserve this distribution only
+   * approximately, hence the rendered area is a close approximation of, but not identical to, the one of all the
+   * points. Otherwise, all the points are returned.
+   */
+  private static double[][] lodQuantiles(double[] xs, double[] ys, double[] columns) {
+    int n = xs.length;
+    if (!isDense(columns)) {
+      return new double[][]{xs, ys};
+    }
+    double[] qXs = new double[n];
+    double[] qYs = new double[n];
+    int nOfPoints = 0;
+    int i = 0;
+    while (i < n) {
+      int j = i + 1;
+      while (j < n && columns[j] == columns[i]) {
+        j = j + 1;
+      }
+      if (j - i <= LOD_QUANTILES_PER_BUCKET) {
+        System.arraycopy(xs, i, qXs, nOfPoints, j - i);
+        System.arraycopy(ys, i, qYs, nOfPoints, j - i);
+        nOfPoints = nOfPoints + j - i;
+      } else {
+        double[] bucketYs = Arrays.copyOfRange(ys, i, j);
+        Arrays.sort(bucketYs);
+        for (int k = 0; k < LOD_QUANTILES_PER_BUCKET; k++) {
+          double rate = (double) k / (LOD_QUANTILES_PER_BUCKET - 1);
+          qXs[nOfPoints] = xs[i] + rate * (xs[j - 1] - xs[i]);
+          qYs[nOfPoints] = bucketYs[(int) Math.round(rate * (bucketYs.length - 1))];
+          nOfPoints = nOfPoints + 1;
+        }
+      }
+      i = j;
+    }
+    return new double[][]{Arrays.copyOf(qXs, nOfPoints), Arrays.copyOf(qYs, nOfPoints)};
+  }
+
+  /**
+   * Returns the indexes of the points to be actually drawn, given their y coordinates in the graphics space and their
+   * device pixel {@code columns}, with points sorted by x. If there are more than {@link #LOD_POINTS_PER_BUCKET} points
+   * per column, on average, the M4 reduction is applied: for each column, only the first, last, min-y, and max-y points
+   * are kept. The polyline through the kept points spans, in each column, the same vertical extent and enters and
+   * leaves the column at the same points of the polyline through all the points; it may differ in how anti-aliased
+   * edges are shaded within a column. Otherwise, all the indexes are returned.
+   */
+  private static int[] lodIndexes(double[] ys, double[] columns) {
+    int n = ys.length;
+    if (!isDense(columns)) {
+      return IntStream.range(0, n).toArray();
+    }
+    int[] indexes = new int[n];
+    int nOfIndexes = 0;
+    int i = 0;
+    while (i < n) {
+      int iMin = i;
+      int iMax = i;
+      int j = i + 1;
+      while (j < n && columns[j] == columns[i]) {
+        if (ys[j] < ys[iMin]) {
+          iMin = j;
+        }
+        if (ys[j] > ys[iMax]) {
+          iMax = j;
+        }
+        j = j + 1;
+      }
+      int[] bucketIndexes = new int[]{i, iMin, iMax, j - 1};
+      Arrays.sort(bucketIndexes);
+      for (int k = 0; k < bucketIndexes.length; k++) {
+        if (k == 0 || bucketIndexes[k] != bucketIndexes[k - 1]) {
+          indexes[nOfIndexes] = bucketIndexes[k];
+          nOfIndexes = nOfIndexes + 1;
+        }
+      }
+      i = j;
+    }
+    return Arrays.copyOf(indexes, nOfIndexes);
   }
 
   @Override
@@ -66,63 +162,58 @@ public class LinesPlotDrawer extends AbstractXYDataSeriesPlotDrawer {
 
   @Override
   protected void drawData(Graphics2D g, GMetrics gm, Rectangle2D r, Axis xA, Axis yA, XYDataSeries ds, Color color) {
-    ds = XYDataSeries.of(
-        ds.name(),
-        ds.points()
-            .stream()
+    Style style = Style.of(configuration(), gm);
+    List<XYDataSeries.Point> points = ds.points();
+    // sort only if needed, since data series are most often already sorted by x
+    List<XYDataSeries.Point> sortedPoints = IntStream.range(1, points.size())
+        .anyMatch(i -> points.get(i - 1).x().v() > points.get(i).x().v()) ? points.stream()
             .sorted(Comparator.comparingDouble(p -> p.x().v()))
-            .toList()
-    );
-    if (ds.points().getFirst().y() instanceof RangedValue) {
+            .toList() : points;
+    double[] xs = sortedPoints.stream().mapToDouble(p -> xA.xIn(p.x().v(), r)).toArray();
+    // buckets are device pixel columns, taking into account the possible scaling and translation of g
+    double[] columns = columns(g, xs);
+    if (sortedPoints.getFirst().y() instanceof RangedValue) {
       // draw shaded area
+      double[] minYs = sortedPoints.stream().mapToDouble(p -> yA.yIn(RangedValue.range(p.y()).min(), r)).toArray();
+      double[] maxYs = sortedPoints.stream().mapToDouble(p -> yA.yIn(RangedValue.range(p.y()).max(), r)).toArray();
+      double[][] minPoints = lodQuantiles(xs, minYs, columns);
+      double[][] maxPoints = lodQuantiles(xs, maxYs, columns);
       Path2D sPath = new Path2D.Double();
-      sPath.moveTo(
-          xA.xIn(ds.points().getFirst().x().v(), r),
-          yA.yIn(ds.points().getFirst().y().v(), r)
-      );
-      ds.points()
-          .stream()
-          .skip(1)
-          .forEach(
-              p -> sPath.lineTo(
-                  xA.xIn(p.x().v(), r),
-                  yA.yIn(RangedValue.range(p.y()).min(), r)
-              )
-          );
-      reverse(ds.points())
-          .forEach(
-              p -> sPath.lineTo(
-                  xA.xIn(p.x().v(), r),
-                  yA.yIn(RangedValue.range(p.y()).max(), r)
-              )
-          );
+      sPath.moveTo(xs[0], yA.yIn(sortedPoints.getFirst().y().v(), r));
+      for (int i = 0; i < minPoints[0].length; i++) {
+        sPath.lineTo(minPoints[0][i], minPoints[1][i]);
+      }
+      for (int i = maxPoints[0].length - 1; i >= 0; i--) {
+        sPath.lineTo(maxPoints[0][i], maxPoints[1][i]);
+      }
       sPath.closePath();
-      g.setColor(GraphicsUtils.alphaed(color, c.alpha()));
+      g.setColor(style.alphaed(color, c.alpha()));
       g.fill(sPath);
     }
     // draw line
+    double[] ys = sortedPoints.stream().mapToDouble(p -> yA.yIn(p.y().v(), r)).toArray();
+    int[] indexes = lodIndexes(ys, columns);
     g.setColor(color);
-    g.setStroke(new BasicStroke((float) (c.strokeSizeRate() * gm.refL())));
+    g.setStroke(style.stroke(c.strokeSizeRate()));
     Path2D path = new Path2D.Double();
-    path.moveTo(
-        xA.xIn(ds.points().getFirst().x().v(), r),
-        yA.yIn(ds.points().getFirst().y().v(), r)
-    );
-    ds.points().stream().skip(1).forEach(p -> path.lineTo(xA.xIn(p.x().v(), r), yA.yIn(p.y().v(), r)));
+    path.moveTo(xs[indexes[0]], ys[indexes[0]]);
+    for (int i = 1; i < indexes.length; i++) {
+      path.lineTo(xs[indexes[i]], ys[indexes[i]]);
+    }
     g.draw(path);
     if (c.markers()) {
       double l = c.markerSizeRate() * gm.refL();
-      double strokeSize = c.strokeSizeRate() * gm.refL();
-      ds.points()
+      IntStream.range(0, xs.length)
           .forEach(
-              p -> PlotUtils.drawMarker(
+              i -> PlotUtils.drawMarker(
                   g,
-                  new Point2D.Double(xA.xIn(p.x().v(), r), yA.yIn(p.y().v(), r)),
+                  style,
+                  new Point2D.Double(xs[i], ys[i]),
                   l,
                   c.marker(),
                   color,
                   c.alpha(),
-                  strokeSize
+                  c.strokeSizeRate()
               )
           );
     }
@@ -131,7 +222,8 @@ public class LinesPlotDrawer extends AbstractXYDataSeriesPlotDrawer {
   @Override
   protected void drawLegendImage(Graphics2D g, Rectangle2D r, Color color) {
     GMetrics gm = new GMetrics(g);
-    g.setColor(GraphicsUtils.alphaed(color, c.alpha()));
+    Style style = Style.of(configuration(), gm);
+    g.setColor(style.alphaed(color, c.alpha()));
     g.fill(
         new Rectangle2D.Double(
             r.getX() + r.getWidth() * 0.1,
@@ -141,7 +233,7 @@ public class LinesPlotDrawer extends AbstractXYDataSeriesPlotDrawer {
         )
     );
     g.setColor(color);
-    g.setStroke(new BasicStroke((float) (c.strokeSizeRate() * gm.refL())));
+    g.setStroke(style.stroke(c.strokeSizeRate()));
     g.draw(
         new Line2D.Double(
             r.getX() + r.getWidth() * 0.1,
@@ -154,12 +246,13 @@ public class LinesPlotDrawer extends AbstractXYDataSeriesPlotDrawer {
       double l = c.markerSizeRate() * gm.refL();
       PlotUtils.drawMarker(
           g,
+          style,
           new Point2D.Double(r.getCenterX(), r.getCenterY()),
           l,
           c.marker(),
           color,
           c.alpha(),
-          c.strokeSizeRate() * gm.refL()
+          c.strokeSizeRate()
       );
     }
   }
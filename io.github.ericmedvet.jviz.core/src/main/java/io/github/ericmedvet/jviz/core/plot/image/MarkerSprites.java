@@ -0,0 +1,145 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-core
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.core.plot.image;
+
+import io.github.ericmedvet.jviz.core.plot.image.XYPlotDrawer.Marker;
+import io.github.ericmedvet.jviz.core.util.GraphicsUtils;
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache of markers pre-rendered as small ARGB sprites, to be blitted when drawing on raster targets instead of going
+ * through the full shape rasterization pipeline for each marker. Sprites are rendered in device space, with the
+ * antialiasing and stroke control hints of the target, for {@link #PHASES}x{@link #PHASES} sub-pixel positions of the
+ * marker center: the placement error is hence at most {@code 1/(2*PHASES)} pixels.
+ */
+class MarkerSprites {
+
+  private static final int PHASES = 4;
+  private static final int MAX_CACHE_SIZE = 4096;
+  private static final double SCALE_TOLERANCE = 1e-6;
+
+  private static final Map<Key, Sprite> CACHE = new ConcurrentHashMap<>();
+
+  private MarkerSprites() {
+  }
+
+  private record Key(
+      Marker marker,
+      double size,
+      double strokeSize,
+      int rgb,
+      double alpha,
+      int phaseX,
+      int phaseY,
+      Object antialiasing,
+      Object strokeControl
+  ) {}
+
+  private record Sprite(BufferedImage image, int margin) {}
+
+  /**
+   * Returns true if markers can be drawn on {@code g} as sprites, i.e., if {@code g} draws on a raster device, with a
+   * uniform scale and translation transform and the default composite.
+   */
+  static boolean isApplicable(Graphics2D g) {
+    GraphicsConfiguration gc = g.getDeviceConfiguration();
+    if (gc == null || gc.getDevice().getType() == GraphicsDevice.TYPE_PRINTER) {
+      return false;
+    }
+    AffineTransform t = g.getTransform();
+    return t.getShearX() == 0 && t.getShearY() == 0 && t.getScaleX() > 0 && Math.abs(
+        t.getScaleX() - t.getScaleY()
+    ) < SCALE_TOLERANCE && AlphaComposite.SrcOver.equals(g.getComposite());
+  }
+
+  static void draw(
+      Graphics2D g,
+      Point2D p,
+      double size,
+      Marker marker,
+      Color color,
+      double alpha,
+      BasicStroke stroke
+  ) {
+    AffineTransform t = g.getTransform();
+    double scale = t.getScaleX();
+    Point2D dp = t.transform(p, null);
+    double x0 = Math.floor(dp.getX());
+    double y0 = Math.floor(dp.getY());
+    Key key = new Key(
+        marker,
+        size * scale,
+        stroke.getLineWidth() * scale,
+        color.getRGB(),
+        alpha,
+        Math.min(PHASES - 1, (int) ((dp.getX() - x0) * PHASES)),
+        Math.min(PHASES - 1, (int) ((dp.getY() - y0) * PHASES)),
+        g.getRenderingHint(RenderingHints.KEY_ANTIALIASING),
+        g.getRenderingHint(RenderingHints.KEY_STROKE_CONTROL)
+    );
+    if (CACHE.size() >= MAX_CACHE_SIZE) {
+      CACHE.clear();
+    }
+    Sprite sprite = CACHE.computeIfAbsent(key, MarkerSprites::render);
+    g.setTransform(new AffineTransform());
+    g.drawImage(sprite.image(), (int) x0 - sprite.margin(), (int) y0 - sprite.margin(), null);
+    g.setTransform(t);
+    // same side effects on g of drawing the marker as shapes
+    g.setStroke(stroke);
+    g.setColor(color);
+  }
+
+  private static Sprite render(Key key) {
+    int margin = (int) Math.ceil(key.size() / 2d + key.strokeSize() / 2d) + 1;
+    BufferedImage image = new BufferedImage(2 * margin + 1, 2 * margin + 1, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = image.createGraphics();
+    if (key.antialiasing() != null) {
+      g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, key.antialiasing());
+    }
+    if (key.strokeControl() != null) {
+      g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, key.strokeControl());
+    }
+    PlotUtils.drawMarkerShapes(
+        g,
+        new Point2D.Double(
+            margin + (key.phaseX() + 0.5d) / PHASES,
+            margin + (key.phaseY() + 0.5d) / PHASES
+        ),
+        key.size(),
+        key.marker(),
+        new Color(key.rgb(), true),
+        GraphicsUtils.alphaed(new Color(key.rgb(), true), key.alpha()),
+        new BasicStroke((float) key.strokeSize())
+    );
+    g.dispose();
+    return new Sprite(image, margin);
+  }
+}
@@ -32,27 +32,63 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
 import java.awt.Shape;
+import java.awt.font.FontRenderContext;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 
 public class PlotUtils {
 
+  private static final int LAYOUT_ITERATIONS = 3;
+  private static final int MAX_LAYOUT_CACHE_SIZE = 1024;
+  private static final Map<LayoutKey, AxesSizes> LAYOUT_CACHE = new ConcurrentHashMap<>();
+
   private PlotUtils() {
   }
 
+  private record AxesSizes(double xAxisH, double yAxisW) {}
+
+  /**
+   * What the final layout depends on, besides the drawer behavior: the sizes of the elements of the initial layout, the
+   * font metrics, and the plot ranges.
+   */
+  private record LayoutKey(
+      Class<?> drawerClass,
+      Configuration configuration,
+      FontRenderContext fontRenderContext,
+      double w,
+      double h,
+      int plotCols,
+      int plotRows,
+      double mainTitleH,
+      double legendH,
+      double commonColTitleH,
+      double commonRowTitleW,
+      double commonXAxesH,
+      double commonYAxesW,
+      double xAxisH,
+      double yAxisW,
+      double colTitleH,
+      double rowTitleW,
+      double noteH,
+      List<DoubleRange> xRanges,
+      List<DoubleRange> yRanges
+  ) {}
+
   public record GMetrics(double w, double h, double refL) {
 
     public GMetrics(Graphics2D g) {
@@ -69,8 +105,9 @@ public class PlotUtils {
       Configuration c,
       Configuration.Text.Use fontUse
   ) {
-    g.setFont(fonts(g, c).get(fontUse));
-    return g.getFontMetrics().getHeight();
+    Style style = Style.of(g, c);
+    g.setFont(style.font(fontUse));
+    return style.stringH(g, fontUse);
   }
 
   public static double computeStringW(
@@ -79,8 +116,17 @@ public class PlotUtils {
       String s,
       Configuration.Text.Use fontUse
   ) {
-    g.setFont(fonts(g, c).get(fontUse));
-    return g.getFontMetrics().stringWidth(s);
+    Style style = Style.of(g, c);
+    g.setFont(style.font(fontUse));
+    return style.stringW(g, s, fontUse);
+  }
+
+  /**
+   * Returns true if {@code g} draws on a raster device, i.e., neither on a vector output nor on a printer.
+   */
+  static boolean isRaster(Graphics2D g) {
+    GraphicsConfiguration gc = g.getDeviceConfiguration();
+    return gc != null && gc.getDevice().getType() != GraphicsDevice.TYPE_PRINTER;
   }
 
   public static void markRectangle(Graphics2D g, Configuration c, Rectangle2D r) {
@@ -131,6 +177,7 @@ public class PlotUtils {
 
   public static <P extends XYPlot<D>, D> Layout computeLayout(
       Graphics2D g,
+      RenderContext rc,
       Configuration c,
       P plot,
       XYPlotDrawer<P, D> plotDrawer
@@ -148,7 +195,7 @@ public class PlotUtils {
         plot.dataGrid().h(),
         plot.title().isEmpty() ? 0 : (computeStringH(g, c, Configuration.Text.Use.TITLE) + 2d * c.layout()
             .mainTitleMarginHRate() * gm.h),
-        plotDrawer.computeLegendH(g, plot) + 2d * c.layout().legendMarginHRate() * gm.h,
+        plotDrawer.computeLegendH(g, rc, plot) + 2d * c.layout().legendMarginHRate() * gm.h,
         c.plotMatrix().titlesShow().equals(Configuration.PlotMatrix.Show.BORDER) ? plot.dataGrid()
             .entries()
             .stream()
@@ -186,17 +233,47 @@ public class PlotUtils {
         plot.dataGrid()
             .keys()
             .stream()
-            .mapToDouble(k -> plotDrawer.computeNoteH(g, k, plot))
+            .mapToDouble(k -> plotDrawer.computeNoteH(g, rc, k, plot))
             .max()
             .orElse(0d),
         c.layout(),
         plot
     );
-    // iterate
-    int nOfIterations = 3;
-    for (int i = 0; i < nOfIterations; i = i + 1) {
-      Grid<Axis> xAxesGrid = plotDrawer.computeXAxes(g, l, plot);
-      Grid<Axis> yAxesGrid = plotDrawer.computeYAxes(g, l, plot);
+    // check if an identical layout has been already computed
+    Grid<Axis> initialXAxesGrid = plotDrawer.computeXAxes(g, rc, l, plot);
+    Grid<Axis> initialYAxesGrid = plotDrawer.computeYAxes(g, rc, l, plot);
+    LayoutKey key = new LayoutKey(
+        plotDrawer.getClass(),
+        c,
+        g.getFontRenderContext(),
+        l.w(),
+        l.h(),
+        l.plotCols(),
+        l.plotRows(),
+        l.mainTitleH(),
+        l.legendH(),
+        l.commonColTitleH(),
+        l.commonRowTitleW(),
+        l.commonXAxesH(),
+        l.commonYAxesW(),
+        l.xAxisH(),
+        l.yAxisW(),
+        l.colTitleH(),
+        l.rowTitleW(),
+        l.noteH(),
+        initialXAxesGrid.values().stream().map(Axis::range).toList(),
+        initialYAxesGrid.values().stream().map(Axis::range).toList()
+    );
+    AxesSizes cachedSizes = LAYOUT_CACHE.get(key);
+    if (cachedSizes != null) {
+      return l.refit(cachedSizes.xAxisH(), cachedSizes.yAxisW());
+    }
+    // iterate, until the layout does not change
+    double xAxisH = l.xAxisH();
+    double yAxisW = l.yAxisW();
+    for (int i = 0; i < LAYOUT_ITERATIONS; i = i + 1) {
+      Grid<Axis> xAxesGrid = i == 0 ? initialXAxesGrid : plotDrawer.computeXAxes(g, rc, l, plot);
+      Grid<Axis> yAxesGrid = i == 0 ? initialYAxesGrid : plotDrawer.computeYAxes(g, rc, l, plot);
       List<String> xTickLabels = xAxesGrid.values()
           .stream()
           .map(Axis::labels)
@@ -219,11 +296,18 @@ public class PlotUtils {
           .xAxisMarginHRate() * gm.h + c.layout().xAxisInnerMarginHRate() * gm.h;
       double newYAxisW = maxYTickL + computeStringH(g, c, Use.AXIS_LABEL) + 2d * c.layout()
           .yAxisMarginWRate() * gm.w + c.layout().yAxisInnerMarginWRate() * gm.w;
-      l = l.refit(
-          plotDrawer.showXAxes() ? newXAxisH : 0,
-          plotDrawer.showYAxes() ? newYAxisW : 0
-      );
+      xAxisH = plotDrawer.showXAxes() ? newXAxisH : 0;
+      yAxisW = plotDrawer.showYAxes() ? newYAxisW : 0;
+      Layout newL = l.refit(xAxisH, yAxisW);
+      if (newL.equals(l)) {
+        break;
+      }
+      l = newL;
     }
+    if (LAYOUT_CACHE.size() >= MAX_LAYOUT_CACHE_SIZE) {
+      LAYOUT_CACHE.clear();
+    }
+    LAYOUT_CACHE.put(key, new AxesSizes(xAxisH, yAxisW));
     return l;
   }
 
@@ -262,8 +346,32 @@ public class PlotUtils {
       double alpha,
       double strokeSize
   ) {
-    g.setStroke(new BasicStroke((float) strokeSize));
-    g.setColor(GraphicsUtils.alphaed(color, alpha));
+    drawArrow(g, srcP, dstP, srcSize, GraphicsUtils.alphaed(color, alpha), new BasicStroke((float) strokeSize));
+  }
+
+  public static void drawArrow(
+      Graphics2D g,
+      Style style,
+      Point2D srcP,
+      Point2D dstP,
+      double srcSize,
+      Color color,
+      double alpha,
+      double strokeSizeRate
+  ) {
+    drawArrow(g, srcP, dstP, srcSize, style.alphaed(color, alpha), style.stroke(strokeSizeRate));
+  }
+
+  private static void drawArrow(
+      Graphics2D g,
+      Point2D srcP,
+      Point2D dstP,
+      double srcSize,
+      Color alphaedColor,
+      BasicStroke stroke
+  ) {
+    g.setStroke(stroke);
+    g.setColor(alphaedColor);
     g.fill(
         new Ellipse2D.Double(
             srcP.getX() - srcSize / 2d,
@@ -289,12 +397,13 @@ public class PlotUtils {
       double strokeSizeRate
   ) {
     markRectangle(g, c, r);
+    Style style = Style.of(c, gm);
     // fill box
-    g.setColor(GraphicsUtils.alphaed(color, alpha));
+    g.setColor(style.alphaed(color, alpha));
     g.fill(new Rectangle2D.Double(r.getX(), innerBottom, r.getWidth(), innerTop - innerBottom));
     // draw
     g.setColor(color);
-    g.setStroke(new BasicStroke((float) (strokeSizeRate * gm.refL)));
+    g.setStroke(style.stroke(strokeSizeRate));
     g.draw(new Rectangle2D.Double(r.getX(), innerBottom, r.getWidth(), innerTop - innerBottom));
     g.draw(new Line2D.Double(r.getX(), center, r.getMaxX(), center));
     g.draw(new Line2D.Double(r.getCenterX(), innerBottom, r.getCenterX(), r.getY()));
@@ -355,7 +464,7 @@ public class PlotUtils {
         });
     // border
     g.setClip(clip);
-    g.setStroke(new BasicStroke((float) (c.general().borderStrokeSizeRate() * gm.refL)));
+    g.setStroke(Style.of(c, gm).stroke(c.general().borderStrokeSizeRate()));
     g.setColor(c.colors().plotBorderColor());
     g.draw(barR);
     // labels
@@ -460,16 +569,51 @@ public class PlotUtils {
       Color color,
       double alpha,
       double strokeSize
+  ) {
+    BasicStroke stroke = new BasicStroke((float) strokeSize);
+    if (MarkerSprites.isApplicable(g)) {
+      MarkerSprites.draw(g, p, size, marker, color, alpha, stroke);
+    } else {
+      drawMarkerShapes(g, p, size, marker, color, GraphicsUtils.alphaed(color, alpha), stroke);
+    }
+  }
+
+  public static void drawMarker(
+      Graphics2D g,
+      Style style,
+      Point2D p,
+      double size,
+      XYPlotDrawer.Marker marker,
+      Color color,
+      double alpha,
+      double strokeSizeRate
+  ) {
+    BasicStroke stroke = style.stroke(strokeSizeRate);
+    if (MarkerSprites.isApplicable(g)) {
+      MarkerSprites.draw(g, p, size, marker, color, alpha, stroke);
+    } else {
+      drawMarkerShapes(g, p, size, marker, color, style.alphaed(color, alpha), stroke);
+    }
+  }
+
+  static void drawMarkerShapes(
+      Graphics2D g,
+      Point2D p,
+      double size,
+      XYPlotDrawer.Marker marker,
+      Color color,
+      Color alphaedColor,
+      BasicStroke stroke
   ) {
     double l = size / 2d;
-    g.setStroke(new BasicStroke((float) strokeSize));
+    g.setStroke(stroke);
     if (marker.equals(XYPlotDrawer.Marker.CIRCLE) || marker.equals(XYPlotDrawer.Marker.SQUARE)) {
       Shape s = switch (marker) {
         case CIRCLE -> new Ellipse2D.Double(p.getX() - l, p.getY() - l, size, size);
         case SQUARE -> new Rectangle2D.Double(p.getX() - l, p.getY() - l, size, size);
         default -> throw new IllegalArgumentException();
       };
-      g.setColor(GraphicsUtils.alphaed(color, alpha));
+      g.setColor(alphaedColor);
       g.fill(s);
       g.setColor(color);
       g.draw(s);
@@ -498,9 +642,10 @@ public class PlotUtils {
     if (s.isEmpty()) {
       return;
     }
-    g.setFont(fonts(g, c).get(use));
-    double sW = computeStringW(g, c, s, use);
-    double sH = computeStringH(g, c, use);
+    Style style = Style.of(g, c);
+    g.setFont(style.font(use));
+    double sW = style.stringW(g, s, use);
+    double sH = style.stringH(g, use);
     double w = switch (direction) {
       case H -> sW;
       case V -> sH;
@@ -509,7 +654,7 @@ public class PlotUtils {
       case H -> sH;
       case V -> sW;
     };
-    double d = g.getFontMetrics().getDescent();
+    double d = style.fontMetrics(g, use).getDescent();
     double x = switch (anchorH) {
       case L -> p.getX();
       case C -> p.getX() - w / 2;
@@ -602,19 +747,6 @@ public class PlotUtils {
   }
 
   public static Map<Use, Font> fonts(Graphics2D g, Configuration c) {
-    GMetrics gm = new GMetrics(g);
-    return Arrays.stream(Configuration.Text.Use.values())
-        .collect(
-            Collectors.toMap(
-                u -> u,
-                u -> new Font(
-                    c.text().fontName(),
-                    Font.PLAIN,
-                    (int) Math.round(
-                        gm.refL * c.text().sizeRates().getOrDefault(u, c.text().fontSizeRate())
-                    )
-                )
-            )
-        );
+    return Style.of(g, c).fonts();
   }
 }
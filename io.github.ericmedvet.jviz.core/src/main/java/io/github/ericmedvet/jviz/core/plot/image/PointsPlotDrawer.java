@@ -23,9 +23,13 @@ import io.github.ericmedvet.jviz.core.plot.XYDataSeries;
 import io.github.ericmedvet.jviz.core.plot.image.PlotUtils.GMetrics;
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 
 public class PointsPlotDrawer extends AbstractXYDataSeriesPlotDrawer {
 
@@ -51,36 +55,137 @@ public class PointsPlotDrawer extends AbstractXYDataSeriesPlotDrawer {
     return c.colors();
   }
 
+  private static int[] boxFilter(int[] values, int w, int h, int size) {
+    int before = (size - 1) / 2;
+    int after = size - 1 - before;
+    int[] hValues = new int[values.length];
+    for (int y = 0; y < h; y++) {
+      int sum = 0;
+      for (int x = -before; x < w + after; x++) {
+        if (x + after < w) {
+          sum = sum + values[y * w + x + after];
+        }
+        if (x - before - 1 >= 0) {
+          sum = sum - values[y * w + x - before - 1];
+        }
+        if (x >= 0 && x < w) {
+          hValues[y * w + x] = sum;
+        }
+      }
+    }
+    int[] vValues = new int[values.length];
+    for (int x = 0; x < w; x++) {
+      int sum = 0;
+      for (int y = -before; y < h + after; y++) {
+        if (y + after < h) {
+          sum = sum + hValues[(y + after) * w + x];
+        }
+        if (y - before - 1 >= 0) {
+          sum = sum - hValues[(y - before - 1) * w + x];
+        }
+        if (y >= 0 && y < h) {
+          vValues[y * w + x] = sum;
+        }
+      }
+    }
+    return vValues;
+  }
+
   @Override
   protected void drawData(Graphics2D g, GMetrics gm, Rectangle2D r, Axis xA, Axis yA, XYDataSeries ds, Color color) {
     double l = c.markerSizeRate() * gm.refL();
     double strokeSize = c.strokeSizeRate() * gm.refL();
+    if (ds.points().size() > c.densityThreshold()) {
+      drawDensity(g, l, strokeSize, r, xA, yA, ds, color);
+      return;
+    }
+    Style style = Style.of(configuration(), gm);
     ds.points()
         .forEach(
             p -> PlotUtils.drawMarker(
                 g,
+                style,
                 new Point2D.Double(xA.xIn(p.x().v(), r), yA.yIn(p.y().v(), r)),
                 l,
                 c.marker(),
                 color,
                 c.alpha(),
-                strokeSize
+                c.strokeSizeRate()
             )
         );
   }
 
+  /**
+   * Draws the points of a data series as a single image layer, rather than one marker per point. Points are counted in
+   * cells of one device pixel; the count of each pixel is then summed over a square neighborhood as large as a marker,
+   * hence approximating the number of markers covering that pixel, and the pixel is colored with {@code color} and the
+   * opacity resulting from stacking that many markers, each with its opacity averaged over its area.
+   */
+  private void drawDensity(
+      Graphics2D g,
+      double l,
+      double strokeSize,
+      Rectangle2D r,
+      Axis xA,
+      Axis yA,
+      XYDataSeries ds,
+      Color color
+  ) {
+    double sx = Math.abs(g.getTransform().getScaleX());
+    double sy = Math.abs(g.getTransform().getScaleY());
+    int w = (int) Math.ceil(r.getWidth() * sx);
+    int h = (int) Math.ceil(r.getHeight() * sy);
+    if (w <= 0 || h <= 0) {
+      return;
+    }
+    int[] counts = new int[w * h];
+    for (XYDataSeries.Point p : ds.points()) {
+      int x = (int) Math.floor((xA.xIn(p.x().v(), r) - r.getX()) * sx);
+      int y = (int) Math.floor((yA.yIn(p.y().v(), r) - r.getY()) * sy);
+      if (x >= 0 && x < w && y >= 0 && y < h) {
+        counts[y * w + x] = counts[y * w + x] + 1;
+      }
+    }
+    counts = boxFilter(counts, w, h, Math.max(1, (int) Math.round((l + strokeSize) * Math.max(sx, sy))));
+    // opacity of one marker, averaged over its area: the outline is opaque, the inside (if any) is alphaed
+    double outlineRate = Math.min(
+        1d,
+        (c.marker().equals(XYPlotDrawer.Marker.CIRCLE) || c.marker().equals(XYPlotDrawer.Marker.SQUARE) ? 4d : 2d)
+            * l * strokeSize / ((l + strokeSize) * (l + strokeSize))
+    );
+    double markerAlpha = switch (c.marker()) {
+      case CIRCLE, SQUARE -> outlineRate + (1d - outlineRate) * c.alpha();
+      case PLUS, TIMES -> outlineRate;
+    };
+    // alpha of n stacked markers
+    int[] alphas = IntStream.rangeClosed(0, Arrays.stream(counts).max().orElse(0))
+        .map(n -> (int) Math.round(255d * (1d - Math.pow(1d - markerAlpha, n))))
+        .toArray();
+    int rgb = color.getRGB() & 0xffffff;
+    int[] argbs = new int[counts.length];
+    for (int i = 0; i < counts.length; i++) {
+      argbs[i] = (alphas[counts[i]] << 24) | rgb;
+    }
+    BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+    image.setRGB(0, 0, w, h, argbs, 0, w);
+    AffineTransform at = AffineTransform.getTranslateInstance(r.getX(), r.getY());
+    at.scale(1d / sx, 1d / sy);
+    g.drawImage(image, at, null);
+  }
+
   @Override
   protected void drawLegendImage(Graphics2D g, Rectangle2D r, Color color) {
     GMetrics gm = new GMetrics(g);
     double l = c.markerSizeRate() * gm.refL();
     PlotUtils.drawMarker(
         g,
+        Style.of(configuration(), gm),
         new Point2D.Double(r.getCenterX(), r.getCenterY()),
         l,
         c.marker(),
         color,
         c.alpha(),
-        c.strokeSizeRate() * gm.refL()
+        c.strokeSizeRate()
     );
   }
 }
@@ -0,0 +1,55 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-core
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.core.plot.image;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The context of a single {@link XYPlotDrawer#draw(java.awt.Graphics2D, io.github.ericmedvet.jviz.core.plot.XYPlot)}
+ * call, which is passed to all the methods of the drawer. It memoizes the quantities (ranges, axes, colors, legend
+ * sizes, ...) which depend only on the plot and on the drawing area, but are needed several times while computing the
+ * layout and drawing the cells of the plot matrix. Keys should be instances of types private to the caller (e.g., enum
+ * constants or records), so that the keys of different drawers do not collide. A context is not thread-safe and must
+ * not be reused across different draws.
+ */
+public class RenderContext {
+
+  private final Map<Object, Object> values;
+
+  public RenderContext() {
+    values = new HashMap<>();
+  }
+
+  /**
+   * Returns the value associated with {@code key}, computing it with {@code supplier} if not already present. Unlike
+   * {@link Map#computeIfAbsent(Object, java.util.function.Function)}, the supplier may in turn use this context.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Supplier<? extends T> supplier) {
+    Object value = values.get(key);
+    if (value == null && !values.containsKey(key)) {
+      value = supplier.get();
+      values.put(key, value);
+    }
+    return (T) value;
+  }
+}
@@ -0,0 +1,166 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-core
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.core.plot.image;
+
+import io.github.ericmedvet.jviz.core.plot.image.Configuration.Text.Use;
+import io.github.ericmedvet.jviz.core.plot.image.PlotUtils.GMetrics;
+import io.github.ericmedvet.jviz.core.util.GraphicsUtils;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link Configuration} compiled for a given drawing area size: it holds the resolved fonts, their metrics and the
+ * widths of the strings measured with them, and the strokes and the alphaed colors used while drawing. Styles are
+ * cached and shared by all the renders with the same configuration and the same reference length, hence they are
+ * thread-safe. The configuration is compared by identity, so that looking up a style does not require to hash the
+ * whole configuration.
+ */
+public class Style {
+
+  private static final int MAX_CACHE_SIZE = 256;
+  private static final int MAX_STRING_WIDTHS_SIZE = 4096;
+  private static final Map<Key, Style> CACHE = new ConcurrentHashMap<>();
+
+  private final Configuration configuration;
+  private final double refL;
+  private final Map<Use, Font> fonts;
+  private final Map<MetricsKey, Metrics> metrics;
+  private final Map<Double, BasicStroke> strokes;
+  private final Map<AlphaedColorKey, Color> alphaedColors;
+
+  private Style(Configuration configuration, double refL) {
+    this.configuration = configuration;
+    this.refL = refL;
+    Map<Use, Font> fonts = new EnumMap<>(Use.class);
+    for (Use use : Use.values()) {
+      fonts.put(
+          use,
+          new Font(
+              configuration.text().fontName(),
+              Font.PLAIN,
+              (int) Math.round(
+                  refL * configuration.text().sizeRates().getOrDefault(use, configuration.text().fontSizeRate())
+              )
+          )
+      );
+    }
+    this.fonts = Collections.unmodifiableMap(fonts);
+    metrics = new ConcurrentHashMap<>();
+    strokes = new ConcurrentHashMap<>();
+    alphaedColors = new ConcurrentHashMap<>();
+  }
+
+  private record Key(Configuration configuration, double refL) {
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Key other && configuration == other.configuration && Double.compare(
+          refL,
+          other.refL
+      ) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(configuration) + Double.hashCode(refL);
+    }
+  }
+
+  private record MetricsKey(FontRenderContext frc, Use use) {}
+
+  private record Metrics(FontMetrics fontMetrics, Map<String, Integer> stringWidths) {}
+
+  private record AlphaedColorKey(Color color, double alpha) {}
+
+  public static Style of(Configuration configuration, GMetrics gm) {
+    if (CACHE.size() >= MAX_CACHE_SIZE) {
+      CACHE.clear();
+    }
+    return CACHE.computeIfAbsent(new Key(configuration, gm.refL()), k -> new Style(k.configuration, k.refL));
+  }
+
+  public static Style of(Graphics2D g, Configuration configuration) {
+    return of(configuration, new GMetrics(g));
+  }
+
+  public Color alphaed(Color color, double alpha) {
+    return alphaedColors.computeIfAbsent(
+        new AlphaedColorKey(color, alpha),
+        k -> GraphicsUtils.alphaed(k.color, k.alpha)
+    );
+  }
+
+  public Configuration configuration() {
+    return configuration;
+  }
+
+  public Font font(Use use) {
+    return fonts.get(use);
+  }
+
+  /**
+   * Returns the metrics of the font for {@code use} with the font render context of {@code g}, i.e., the same metrics
+   * {@code g} would give after setting the font for {@code use}.
+   */
+  public FontMetrics fontMetrics(Graphics2D g, Use use) {
+    return metrics(g, use).fontMetrics;
+  }
+
+  public Map<Use, Font> fonts() {
+    return fonts;
+  }
+
+  private Metrics metrics(Graphics2D g, Use use) {
+    return metrics.computeIfAbsent(
+        new MetricsKey(g.getFontRenderContext(), use),
+        k -> new Metrics(g.getFontMetrics(fonts.get(use)), new ConcurrentHashMap<>())
+    );
+  }
+
+  public double refL() {
+    return refL;
+  }
+
+  public double stringH(Graphics2D g, Use use) {
+    return fontMetrics(g, use).getHeight();
+  }
+
+  public double stringW(Graphics2D g, String s, Use use) {
+    Metrics m = metrics(g, use);
+    if (m.stringWidths.size() >= MAX_STRING_WIDTHS_SIZE) {
+      m.stringWidths.clear();
+    }
+    return m.stringWidths.computeIfAbsent(s, m.fontMetrics::stringWidth);
+  }
+
+  /**
+   * Returns a stroke whose width is {@code sizeRate} times the reference length of this style.
+   */
+  public BasicStroke stroke(double sizeRate) {
+    return strokes.computeIfAbsent(sizeRate, r -> new BasicStroke((float) (r * refL)));
+  }
+}
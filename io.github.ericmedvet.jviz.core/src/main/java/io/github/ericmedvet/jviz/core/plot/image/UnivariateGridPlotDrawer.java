@@ -25,13 +25,15 @@ import io.github.ericmedvet.jnb.datastructure.Grid.Key;
 import io.github.ericmedvet.jviz.core.plot.RangedGrid;
 import io.github.ericmedvet.jviz.core.plot.UnivariateGridPlot;
 import io.github.ericmedvet.jviz.core.plot.image.PlotUtils.GMetrics;
-import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.function.DoubleFunction;
+import java.util.stream.IntStream;
 
 public class UnivariateGridPlotDrawer extends AbstractXYPlotDrawer<UnivariateGridPlot, Grid<Double>> {
 
@@ -46,15 +48,30 @@ public class UnivariateGridPlotDrawer extends AbstractXYPlotDrawer<UnivariateGri
     this.c = configuration.univariateGridPlot();
   }
 
-  private static DoubleRange computeValueRange(UnivariateGridPlot p) {
-    DoubleRange valueRange;
-    Grid<DoubleRange> valueRanges = p.dataGrid().map(td -> computeValueRange(td.data()));
-    if (p.valueRange().equals(DoubleRange.UNBOUNDED)) {
-      valueRange = DoubleRange.largest(valueRanges.values().stream().toList());
-    } else {
-      valueRange = p.valueRange();
-    }
-    return valueRange;
+  private enum ContextKey { VALUE_RANGE, VALUE_RANGES, RANGE_LABEL_FORMAT, N_OF_CELLS }
+
+  private static long computeNOfCells(RenderContext rc, UnivariateGridPlot p) {
+    return rc.get(
+        ContextKey.N_OF_CELLS,
+        () -> p.dataGrid().values().stream().mapToLong(td -> (long) td.data().w() * td.data().h()).sum()
+    );
+  }
+
+  private static DoubleRange computeValueRange(RenderContext rc, UnivariateGridPlot p) {
+    return rc.get(ContextKey.VALUE_RANGE, () -> {
+      DoubleRange valueRange;
+      Grid<DoubleRange> valueRanges = computeValueRanges(rc, p);
+      if (p.valueRange().equals(DoubleRange.UNBOUNDED)) {
+        valueRange = DoubleRange.largest(valueRanges.values().stream().toList());
+      } else {
+        valueRange = p.valueRange();
+      }
+      return valueRange;
+    });
+  }
+
+  private static Grid<DoubleRange> computeValueRanges(RenderContext rc, UnivariateGridPlot p) {
+    return rc.get(ContextKey.VALUE_RANGES, () -> p.dataGrid().map(td -> computeValueRange(td.data())));
   }
 
   private static DoubleRange computeValueRange(Grid<Double> grid) {
@@ -79,7 +96,7 @@ public class UnivariateGridPlotDrawer extends AbstractXYPlotDrawer<UnivariateGri
   }
 
   @Override
-  public double computeLegendH(Graphics2D g, UnivariateGridPlot p) {
+  public double computeLegendH(Graphics2D g, RenderContext rc, UnivariateGridPlot p) {
     GMetrics gm = new GMetrics(g);
     return c.legendImageHRate() * gm.h() + PlotUtils.computeStringH(
         g,
@@ -89,7 +106,7 @@ public class UnivariateGridPlotDrawer extends AbstractXYPlotDrawer<UnivariateGri
   }
 
   @Override
-  public double computeNoteH(Graphics2D g, Key k, UnivariateGridPlot univariateGridPlot) {
+  public double computeNoteH(Graphics2D g, RenderContext rc, Key k, UnivariateGridPlot univariateGridPlot) {
     GMetrics gm = new GMetrics(g);
     return c.showRanges() ? (c.legendImageHRate() * gm.h() + PlotUtils.computeStringH(
         g,
@@ -99,9 +116,9 @@ public class UnivariateGridPlotDrawer extends AbstractXYPlotDrawer<UnivariateGri
   }
 
   @Override
-  public void drawLegend(Graphics2D g, Rectangle2D r, UnivariateGridPlot p) {
+  public void drawLegend(Graphics2D g, RenderContext rc, Rectangle2D r, UnivariateGridPlot p) {
     GMetrics gm = new GMetrics(g);
-    DoubleRange valueRange = computeValueRange(p);
+    DoubleRange valueRange = computeValueRange(rc, p);
     PlotUtils.drawColorBar(
         g,
         configuration(),
@@ -125,61 +142,138 @@ public class UnivariateGridPlotDrawer extends AbstractXYPlotDrawer<UnivariateGri
   }
 
   @Override
-  public void drawPlot(Graphics2D g, GMetrics gm, Rectangle2D r, Key k, Axis xA, Axis yA, UnivariateGridPlot p) {
+  public void drawPlot(
+      Graphics2D g,
+      RenderContext rc,
+      GMetrics gm,
+      Rectangle2D r,
+      Key k,
+      Axis xA,
+      Axis yA,
+      UnivariateGridPlot p
+  ) {
     Grid<Double> data = p.dataGrid().get(k).data();
-    DoubleFunction<Color> colorF = v -> c.colorRange().interpolate(computeValueRange(p).normalize(v));
+    DoubleRange valueRange = computeValueRange(rc, p);
     double cellW = r.getWidth() / (double) data.w() * c.cellSideRate();
     double cellH = r.getHeight() / (double) data.h() * c.cellSideRate();
     double cellMarginW = r.getWidth() / (double) data.w() * (1 - c.cellSideRate()) / 2d;
     double cellMarginH = r.getHeight() / (double) data.h() * (1 - c.cellSideRate()) / 2d;
-    if (data instanceof RangedGrid<Double> rg) {
-      data.entries()
-          .stream()
-          .filter(e -> e.value() != null)
-          .filter(e -> Double.isFinite(e.value()))
-          .forEach(e -> {
-            g.setColor(colorF.apply(e.value()));
-            Rectangle2D.Double cellR = new Rectangle2D.Double(
-                xA.xIn(rg.xRange(e.key().x()).min(), r) + cellMarginW,
-                yA.yIn(rg.yRange(e.key().y()).max(), r) + cellMarginH,
-                cellW,
-                cellH
-            );
-            g.fill(cellR);
-          });
-    } else {
-      data.entries()
-          .stream()
-          .filter(e -> e.value() != null)
-          .filter(e -> Double.isFinite(e.value()))
-          .forEach(e -> {
-            g.setColor(colorF.apply(e.value()));
-            Rectangle2D.Double cellR = new Rectangle2D.Double(
-                xA.xIn(e.key().x(), r) + cellMarginW,
-                yA.yIn(e.key().y() + 1, r) + cellMarginH,
-                cellW,
-                cellH
-            );
-            g.fill(cellR);
-          });
+    double[] cellXs = IntStream.range(0, data.w())
+        .mapToDouble(
+            x -> xA.xIn(data instanceof RangedGrid<Double> rg ? rg.xRange(x).min() : x, r) + cellMarginW
+        )
+        .toArray();
+    double[] cellYs = IntStream.range(0, data.h())
+        .mapToDouble(
+            y -> yA.yIn(data instanceof RangedGrid<Double> rg ? rg.yRange(y).max() : (y + 1), r) + cellMarginH
+        )
+        .toArray();
+    AffineTransform t = g.getTransform();
+    boolean rasterizable = t.getShearX() == 0 && t.getShearY() == 0 && t.getScaleX() > 0 && t.getScaleY() > 0;
+    if (rasterizable && (PlotUtils.isRaster(g) || computeNOfCells(rc, p) > c.vectorCellsThreshold())) {
+      drawCellsImage(g, data, valueRange, r, cellXs, cellYs, cellW, cellH);
+      return;
+    }
+    data.entries()
+        .stream()
+        .filter(e -> e.value() != null)
+        .filter(e -> Double.isFinite(e.value()))
+        .forEach(e -> {
+          g.setColor(c.colorRange().color(valueRange.normalize(e.value())));
+          g.fill(new Rectangle2D.Double(cellXs[e.key().x()], cellYs[e.key().y()], cellW, cellH));
+        });
+  }
+
+  /**
+   * Draws the cells as one image in device space, where each pixel takes the color of the cell containing its center,
+   * if any, at a cost which is linear in the number of cells plus the number of pixels.
+   */
+  private void drawCellsImage(
+      Graphics2D g,
+      Grid<Double> data,
+      DoubleRange valueRange,
+      Rectangle2D r,
+      double[] cellXs,
+      double[] cellYs,
+      double cellW,
+      double cellH
+  ) {
+    AffineTransform t = g.getTransform();
+    Rectangle2D dR = t.createTransformedShape(r).getBounds2D();
+    int x0 = (int) Math.floor(dR.getX());
+    int y0 = (int) Math.floor(dR.getY());
+    int w = (int) Math.ceil(dR.getMaxX()) - x0;
+    int h = (int) Math.ceil(dR.getMaxY()) - y0;
+    if (w <= 0 || h <= 0) {
+      return;
+    }
+    int[] pixelXs = pixelCells(cellXs, cellW, t.getScaleX(), t.getTranslateX(), x0, w);
+    int[] pixelYs = pixelCells(cellYs, cellH, t.getScaleY(), t.getTranslateY(), y0, h);
+    double[] vs = new double[data.w() * data.h()];
+    for (int y = 0; y < data.h(); y++) {
+      for (int x = 0; x < data.w(); x++) {
+        Double v = data.get(x, y);
+        vs[y * data.w() + x] = (v == null || !Double.isFinite(v)) ? Double.NaN : valueRange.normalize(v);
+      }
+    }
+    int[] cellRgbs = c.colorRange().rgbs(vs);
+    for (int i = 0; i < vs.length; i++) {
+      if (Double.isNaN(vs[i])) {
+        cellRgbs[i] = 0;
+      }
     }
+    BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+    int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    for (int py = 0; py < h; py++) {
+      int cy = pixelYs[py];
+      if (cy < 0) {
+        continue;
+      }
+      for (int px = 0; px < w; px++) {
+        int cx = pixelXs[px];
+        if (cx >= 0) {
+          pixels[py * w + px] = cellRgbs[cy * data.w() + cx];
+        }
+      }
+    }
+    g.setTransform(new AffineTransform());
+    g.drawImage(image, x0, y0, null);
+    g.setTransform(t);
+  }
+
+  private static int[] pixelCells(double[] cellMins, double cellSize, double scale, double translate, int p0, int n) {
+    int[] cells = new int[n];
+    Arrays.fill(cells, -1);
+    for (int i = 0; i < cellMins.length; i++) {
+      double min = cellMins[i] * scale + translate;
+      double max = min + cellSize * scale;
+      int from = Math.max(0, (int) Math.ceil(min - 0.5d) - p0);
+      int to = Math.min(n, (int) Math.ceil(max - 0.5d) - p0);
+      for (int p = from; p < to; p++) {
+        cells[p] = i;
+      }
+    }
+    return cells;
   }
 
   @Override
-  public void drawNote(Graphics2D g, GMetrics gm, Rectangle2D r, Key k, UnivariateGridPlot p) {
+  public void drawNote(Graphics2D g, RenderContext rc, GMetrics gm, Rectangle2D r, Key k, UnivariateGridPlot p) {
     if (!c.showRanges()) {
       return;
     }
-    DoubleRange valueRange = computeValueRange(p);
-    Grid<DoubleRange> valueRanges = p.dataGrid().map(td -> computeValueRange(td.data()));
-    List<Double> allLabels = p.dataGrid()
-        .values()
-        .stream()
-        .map(td -> computeValueRange(td.data()))
-        .map(dr -> List.of(dr.min(), dr.max()))
-        .flatMap(List::stream)
-        .toList();
-    String rangeLabelFormat = PlotUtils.computeTicksFormat(configuration(), allLabels);
+    DoubleRange valueRange = computeValueRange(rc, p);
+    Grid<DoubleRange> valueRanges = computeValueRanges(rc, p);
+    String rangeLabelFormat = rc.get(
+        ContextKey.RANGE_LABEL_FORMAT,
+        () -> PlotUtils.computeTicksFormat(
+            configuration(),
+            valueRanges.values()
+                .stream()
+                .map(dr -> List.of(dr.min(), dr.max()))
+                .flatMap(List::stream)
+                .toList()
+        )
+    );
     PlotUtils.drawColorBar(
         g,
         configuration(),
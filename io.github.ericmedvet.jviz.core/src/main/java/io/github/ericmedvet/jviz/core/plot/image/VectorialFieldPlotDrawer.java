@@ -27,12 +27,14 @@ import io.github.ericmedvet.jviz.core.plot.VectorialFieldPlot;
 import io.github.ericmedvet.jviz.core.plot.XYPlot;
 import io.github.ericmedvet.jviz.core.plot.XYPlot.TitledData;
 import io.github.ericmedvet.jviz.core.plot.image.PlotUtils.GMetrics;
-import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.geom.Ellipse2D;
 import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -42,6 +44,9 @@ import java.util.stream.Collectors;
 
 public class VectorialFieldPlotDrawer extends AbstractXYPlotDrawer<VectorialFieldPlot, List<VectorialFieldDataSeries>> {
 
+  private static final int MAX_PATH_ARROWS = 100000;
+  private static final double SINGLE_SRC_D_RANGE_RATE = 0.25;
+
   private final Configuration.VectorialFieldPlot c;
 
   public VectorialFieldPlotDrawer(Configuration configuration) {
@@ -57,17 +62,19 @@ public class VectorialFieldPlotDrawer extends AbstractXYPlotDrawer<VectorialFiel
     this(Configuration.DEFAULT);
   }
 
+  private enum ContextKey { DATA_COLORS, DST_X_RANGES, DST_Y_RANGES, D_RANGE }
+
   @Override
-  public double computeLegendH(Graphics2D g, VectorialFieldPlot p) {
-    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(p);
+  public double computeLegendH(Graphics2D g, RenderContext rc, VectorialFieldPlot p) {
+    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(rc, p);
     GMetrics gm = new GMetrics(g);
     Point2D legendImageSize = new Point2D.Double(
         c.legendImageSizeRate() * gm.refL(),
         c.legendImageSizeRate() * gm.refL()
     );
-    return PlotUtils.computeItemsLegendSize(
+    return computeItemsLegendSize(
         g,
-        configuration(),
+        rc,
         dataColors,
         legendImageSize.getX(),
         legendImageSize.getY()
@@ -76,8 +83,8 @@ public class VectorialFieldPlotDrawer extends AbstractXYPlotDrawer<VectorialFiel
   }
 
   @Override
-  public void drawLegend(Graphics2D g, Rectangle2D r, VectorialFieldPlot p) {
-    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(p);
+  public void drawLegend(Graphics2D g, RenderContext rc, Rectangle2D r, VectorialFieldPlot p) {
+    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(rc, p);
     GMetrics gm = new GMetrics(g);
     Point2D legendImageSize = new Point2D.Double(
         c.legendImageSizeRate() * gm.refL(),
@@ -95,9 +102,18 @@ public class VectorialFieldPlotDrawer extends AbstractXYPlotDrawer<VectorialFiel
   }
 
   @Override
-  public void drawPlot(Graphics2D g, GMetrics gm, Rectangle2D r, Key k, Axis xA, Axis yA, VectorialFieldPlot p) {
+  public void drawPlot(
+      Graphics2D g,
+      RenderContext rc,
+      GMetrics gm,
+      Rectangle2D r,
+      Key k,
+      Axis xA,
+      Axis yA,
+      VectorialFieldPlot p
+  ) {
     g.setColor(configuration().colors().gridColor());
-    g.setStroke(new BasicStroke((float) (configuration().general().gridStrokeSizeRate() * gm.refL())));
+    g.setStroke(Style.of(configuration(), gm).stroke(configuration().general().gridStrokeSizeRate()));
     xA.ticks()
         .forEach(
             x -> g.draw(
@@ -121,74 +137,58 @@ public class VectorialFieldPlotDrawer extends AbstractXYPlotDrawer<VectorialFiel
             )
         );
     // prepare colors
-    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(p);
+    SortedMap<String, Color> dataColors = getComputeSeriesDataColors(rc, p);
     // compute range of magnitude
-    Set<Entry<String, List<VectorialFieldDataSeries>>> dsEntries = p.dataGrid()
-        .values()
-        .stream()
-        .map(TitledData::data)
-        .flatMap(List::stream)
-        .collect(Collectors.groupingBy(VectorialFieldDataSeries::name))
-        .entrySet();
-    Map<String, DoubleRange> dstXRanges = dsEntries.stream()
-        .collect(
-            Collectors.toMap(
-                Entry::getKey,
-                e -> e.getValue()
-                    .stream()
-                    .map(VectorialFieldDataSeries::destinationXRange)
-                    .reduce(DoubleRange::largest)
-                    .orElseThrow()
-            )
-        );
-    Map<String, DoubleRange> dstYRanges = dsEntries.stream()
-        .collect(
-            Collectors.toMap(
-                Entry::getKey,
-                e -> e.getValue()
-                    .stream()
-                    .map(VectorialFieldDataSeries::destinationYRange)
-                    .reduce(DoubleRange::largest)
-                    .orElseThrow()
-            )
-        );
-    List<Point> srcPoints = p.dataGrid()
-        .values()
-        .stream()
-        .map(TitledData::data)
-        .flatMap(List::stream)
-        .map(ds -> ds.pointPairs().keySet())
-        .flatMap(Set::stream)
-        .toList();
-    double minD = Math.min(
-        minDistance(srcPoints.stream().map(Point::x).distinct().toList()),
-        minDistance(srcPoints.stream().map(Point::y).distinct().toList())
-    );
-    DoubleRange dRange = new DoubleRange(-minD / 2d, minD / 2d);
+    Map<String, DoubleRange> dstXRanges = rc.get(ContextKey.DST_X_RANGES, () -> computeDstRanges(p, true));
+    Map<String, DoubleRange> dstYRanges = rc.get(ContextKey.DST_Y_RANGES, () -> computeDstRanges(p, false));
+    DoubleRange dRange = rc.get(ContextKey.D_RANGE, () -> computeDRange(rc, p));
     // draw data
-    p.dataGrid().get(k).data().forEach(ds -> {
+    Style style = Style.of(configuration(), gm);
+    double srcSize = c.srcSizeRate() * gm.refL();
+    g.setStroke(style.stroke(c.strokeSizeRate()));
+    // on vector targets, arrows of a series are batched in one path (sources are kept as shapes, which are smaller as
+    // elements, and paths are split every MAX_PATH_ARROWS arrows); on raster targets, many small shapes are cheaper to
+    // fill than one large path
+    boolean batch = !PlotUtils.isRaster(g);
+    Ellipse2D.Double src = new Ellipse2D.Double();
+    Line2D.Double arrow = new Line2D.Double();
+    for (VectorialFieldDataSeries ds : p.dataGrid().get(k).data()) {
       DoubleRange dstXRange = dstXRanges.get(ds.name());
       DoubleRange dstYRange = dstYRanges.get(ds.name());
-      ds.pointPairs()
-          .forEach(
-              (srcP, dstP) -> PlotUtils.drawArrow(
-                  g,
-                  new Point2D.Double(xA.xIn(srcP.x(), r), yA.yIn(srcP.y(), r)),
-                  new Point2D.Double(
-                      xA.xIn(srcP.x() + dRange.denormalize(dstXRange.normalize(dstP.x())), r),
-                      yA.yIn(srcP.y() + dRange.denormalize(dstYRange.normalize(dstP.y())), r)
-                  ),
-                  c.srcSizeRate() * gm.refL(),
-                  dataColors.get(ds.name()),
-                  1d,
-                  c.strokeSizeRate() * gm.refL()
-              )
-          );
-    });
+      g.setColor(dataColors.get(ds.name()));
+      Path2D arrows = new Path2D.Double();
+      int nOfArrows = 0;
+      for (Entry<Point, Point> pair : ds.pointPairs().entrySet()) {
+        double srcX = xA.xIn(pair.getKey().x(), r);
+        double srcY = yA.yIn(pair.getKey().y(), r);
+        src.setFrame(srcX - srcSize / 2d, srcY - srcSize / 2d, srcSize, srcSize);
+        arrow.setLine(
+            srcX,
+            srcY,
+            xA.xIn(pair.getKey().x() + dRange.denormalize(dstXRange.normalize(pair.getValue().x())), r),
+            yA.yIn(pair.getKey().y() + dRange.denormalize(dstYRange.normalize(pair.getValue().y())), r)
+        );
+        g.fill(src);
+        if (batch) {
+          arrows.append(arrow, false);
+          nOfArrows = nOfArrows + 1;
+          if (nOfArrows == MAX_PATH_ARROWS) {
+            g.draw(arrows);
+            arrows.reset();
+            nOfArrows = 0;
+          }
+        } else {
+          g.draw(arrow);
+        }
+      }
+      if (batch && nOfArrows > 0) {
+        g.draw(arrows);
+      }
+    }
   }
 
   @Override
-  public double computeNoteH(Graphics2D g, Key k, VectorialFieldPlot vectorialFieldPlot) {
+  public double computeNoteH(Graphics2D g, RenderContext rc, Key k, VectorialFieldPlot vectorialFieldPlot) {
     return 0;
   }
 
@@ -204,47 +204,118 @@ public class VectorialFieldPlotDrawer extends AbstractXYPlotDrawer<VectorialFiel
         .orElseThrow();
   }
 
+  private DoubleRange computeDRange(RenderContext rc, VectorialFieldPlot p) {
+    List<Point> srcPoints = p.dataGrid()
+        .values()
+        .stream()
+        .map(TitledData::data)
+        .flatMap(List::stream)
+        .map(ds -> ds.pointPairs().keySet())
+        .flatMap(Set::stream)
+        .toList();
+    double minD = Math.min(
+        minDistance(srcPoints.stream().mapToDouble(Point::x).distinct().toArray()),
+        minDistance(srcPoints.stream().mapToDouble(Point::y).distinct().toArray())
+    );
+    if (!Double.isFinite(minD)) {
+      // single source point: arrows take a fraction of the plot-wide axes ranges, i.e., the largest ones of the grid
+      minD = SINGLE_SRC_D_RANGE_RATE * Math.min(
+          DoubleRange.largest(computeRanges(rc, true, c.xExtensionRate(), p).values()).extent(),
+          DoubleRange.largest(computeRanges(rc, false, c.yExtensionRate(), p).values()).extent()
+      );
+    }
+    return new DoubleRange(-minD / 2d, minD / 2d);
+  }
+
+  private Map<String, DoubleRange> computeDstRanges(VectorialFieldPlot p, boolean isXAxis) {
+    return p.dataGrid()
+        .values()
+        .stream()
+        .map(TitledData::data)
+        .flatMap(List::stream)
+        .collect(Collectors.groupingBy(VectorialFieldDataSeries::name))
+        .entrySet()
+        .stream()
+        .collect(
+            Collectors.toMap(
+                Entry::getKey,
+                e -> e.getValue()
+                    .stream()
+                    .map(ds -> isXAxis ? ds.destinationXRange() : ds.destinationYRange())
+                    .reduce(DoubleRange::largest)
+                    .map(VectorialFieldPlotDrawer::nonDegenerate)
+                    .orElseThrow()
+            )
+        );
+  }
+
   private void drawLegendImage(Graphics2D g, Rectangle2D r, Color color) {
     GMetrics gm = new GMetrics(g);
     PlotUtils.drawArrow(
         g,
+        Style.of(configuration(), gm),
         new Point2D.Double(r.getMinX(), r.getY() / 2d + r.getMaxY() / 2d),
         new Point2D.Double(r.getMaxX(), r.getY() / 2d + r.getMaxY() / 2d),
         c.srcSizeRate() * gm.refL(),
         color,
         1d,
-        c.strokeSizeRate() * gm.refL()
+        c.strokeSizeRate()
     );
   }
 
-  private SortedMap<String, Color> getComputeSeriesDataColors(VectorialFieldPlot p) {
-    return PlotUtils.computeSeriesDataColors(
-        p.dataGrid()
-            .values()
-            .stream()
-            .map(XYPlot.TitledData::data)
-            .flatMap(List::stream)
-            .map(VectorialFieldDataSeries::name)
-            .toList(),
-        c.colors()
+  private SortedMap<String, Color> getComputeSeriesDataColors(RenderContext rc, VectorialFieldPlot p) {
+    return rc.get(
+        ContextKey.DATA_COLORS,
+        () -> PlotUtils.computeSeriesDataColors(
+            p.dataGrid()
+                .values()
+                .stream()
+                .map(XYPlot.TitledData::data)
+                .flatMap(List::stream)
+                .map(VectorialFieldDataSeries::name)
+                .toList(),
+            c.colors()
+        )
     );
   }
 
-  private double minDistance(List<Double> vs) {
-    return vs.stream()
-        .mapToDouble(
-            v1 -> vs.stream()
-                .filter(v2 -> (v2 - v1) != 0)
-                .mapToDouble(v2 -> Math.abs(v1 - v2))
-                .min()
-                .orElseThrow()
-        )
-        .min()
-        .orElseThrow();
+  /**
+   * Returns {@code r} if it has a positive extent, or a range symmetric around 0 and including {@code r} otherwise, so
+   * that single destination values can be normalized preserving their sign.
+   */
+  private static DoubleRange nonDegenerate(DoubleRange r) {
+    if (r.extent() > 0) {
+      return r;
+    }
+    double m = Math.max(Math.abs(r.min()), Math.abs(r.max()));
+    return m > 0 ? new DoubleRange(-m, m) : new DoubleRange(-1, 1);
+  }
+
+  /**
+   * Returns the minimum distance between two distinct values in {@code vs}, or positive infinity if there are less than
+   * two distinct values. Sorts {@code vs}.
+   */
+  private static double minDistance(double[] vs) {
+    Arrays.sort(vs);
+    double minD = Double.POSITIVE_INFINITY;
+    for (int i = 1; i < vs.length; i++) {
+      double d = vs[i] - vs[i - 1];
+      if (d > 0 && d < minD) {
+        minD = d;
+      }
+    }
+    return minD;
   }
 
   @Override
-  public void drawNote(Graphics2D g, GMetrics gm, Rectangle2D r, Key k, VectorialFieldPlot vectorialFieldPlot) {
+  public void drawNote(
+      Graphics2D g,
+      RenderContext rc,
+      GMetrics gm,
+      Rectangle2D r,
+      Key k,
+      VectorialFieldPlot vectorialFieldPlot
+  ) {
     // do none
   }
 }
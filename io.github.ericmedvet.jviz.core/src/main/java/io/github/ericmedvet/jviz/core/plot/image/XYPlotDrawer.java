@@ -50,19 +50,28 @@ public interface XYPlotDrawer<P extends XYPlot<D>, D> extends Drawer<P> {
     return new ImageInfo(axisW * p.dataGrid().w(), axisH * p.dataGrid().h());
   }
 
-  double computeLegendH(Graphics2D g, P p);
+  double computeLegendH(Graphics2D g, RenderContext rc, P p);
 
-  double computeNoteH(Graphics2D g, Grid.Key k, P p);
+  double computeNoteH(Graphics2D g, RenderContext rc, Grid.Key k, P p);
 
-  Grid<Axis> computeXAxes(Graphics2D g, Layout l, P p);
+  Grid<Axis> computeXAxes(Graphics2D g, RenderContext rc, Layout l, P p);
 
-  Grid<Axis> computeYAxes(Graphics2D g, Layout l, P p);
+  Grid<Axis> computeYAxes(Graphics2D g, RenderContext rc, Layout l, P p);
 
-  void drawLegend(Graphics2D g, Rectangle2D r, P p);
+  void drawLegend(Graphics2D g, RenderContext rc, Rectangle2D r, P p);
 
-  void drawPlot(Graphics2D g, GMetrics gm, Rectangle2D r, Grid.Key k, Axis xA, Axis yA, P p);
+  void drawPlot(
+      Graphics2D g,
+      RenderContext rc,
+      GMetrics gm,
+      Rectangle2D r,
+      Grid.Key k,
+      Axis xA,
+      Axis yA,
+      P p
+  );
 
-  void drawNote(Graphics2D g, GMetrics gm, Rectangle2D r, Grid.Key k, P p);
+  void drawNote(Graphics2D g, RenderContext rc, GMetrics gm, Rectangle2D r, Grid.Key k, P p);
 
   default boolean showXAxes() {
     return true;
@@ -83,10 +92,11 @@ public interface XYPlotDrawer<P extends XYPlot<D>, D> extends Drawer<P> {
   @Override
   default void draw(Graphics2D g, P p) {
     GMetrics gm = new GMetrics(g);
+    RenderContext rc = new RenderContext();
     // compute layout and axes
-    Layout l = PlotUtils.computeLayout(g, configuration(), p, this);
-    Grid<Axis> xAxesGrid = computeXAxes(g, l, p);
-    Grid<Axis> yAxesGrid = computeYAxes(g, l, p);
+    Layout l = PlotUtils.computeLayout(g, rc, configuration(), p, this);
+    Grid<Axis> xAxesGrid = computeXAxes(g, rc, l, p);
+    Grid<Axis> yAxesGrid = computeYAxes(g, rc, l, p);
     Shape clip = g.getClip();
     // clean
     Drawer.clean(g);
@@ -105,7 +115,7 @@ public interface XYPlotDrawer<P extends XYPlot<D>, D> extends Drawer<P> {
     );
     // draw legend
     PlotUtils.markRectangle(g, configuration(), l.legend());
-    drawLegend(g, l.legend(), p);
+    drawLegend(g, rc, l.legend(), p);
     g.setClip(clip);
     g.setStroke(new BasicStroke());
     // draw plots
@@ -209,14 +219,14 @@ public interface XYPlotDrawer<P extends XYPlot<D>, D> extends Drawer<P> {
         }
         // draw notes
         PlotUtils.markRectangle(g, configuration(), l.note(px, py));
-        drawNote(g, gm, l.note(px, py), new Grid.Key(px, py), p);
+        drawNote(g, rc, gm, l.note(px, py), new Grid.Key(px, py), p);
         g.setClip(clip);
         g.setStroke(new BasicStroke());
         // draw background
         g.setColor(configuration().colors().plotBgColor());
         g.fill(l.innerPlot(px, py));
         // draw border
-        g.setStroke(new BasicStroke((float) (configuration().general().borderStrokeSizeRate() * gm.refL())));
+        g.setStroke(Style.of(configuration(), gm).stroke(configuration().general().borderStrokeSizeRate()));
         g.setColor(configuration().colors().plotBorderColor());
         g.draw(l.innerPlot(px, py));
         // draw plot
@@ -224,6 +234,7 @@ public interface XYPlotDrawer<P extends XYPlot<D>, D> extends Drawer<P> {
         g.setClip(l.innerPlot(px, py));
         drawPlot(
             g,
+            rc,
             gm,
             l.innerPlot(px, py),
             new Grid.Key(px, py),
@@ -40,10 +40,12 @@ public abstract class AbstractXYPlotVideoBuilder<P extends XYPlot<D>, D> impleme
 
   @Override
   public Video build(VideoInfo videoInfo, P p) {
+    List<P> ps = split(p, c.splitType());
     return new Video(
-        split(p, c.splitType()).stream()
-            .map(sp -> drawer.buildRaster(new Drawer.ImageInfo(videoInfo.w(), videoInfo.h()), sp))
-            .toList(),
+        videoInfo.w(),
+        videoInfo.h(),
+        ps.size(),
+        VideoBuilder.frameSource(drawer, videoInfo, ps, c.nOfThreads()),
         c.frameRate(),
         videoInfo.encoder()
     );
@@ -19,9 +19,14 @@
  */
 package io.github.ericmedvet.jviz.core.plot.video;
 
-public record Configuration(SplitType splitType, double frameRate) {
+public record Configuration(SplitType splitType, double frameRate, int nOfThreads) {
 
-  public static final Configuration DEFAULT = new Configuration(SplitType.COLUMNS, 20d);
+  public static final int DEFAULT_N_OF_THREADS = 1;
+  public static final Configuration DEFAULT = new Configuration(SplitType.COLUMNS, 20d, DEFAULT_N_OF_THREADS);
+
+  public Configuration(SplitType splitType, double frameRate) {
+    this(splitType, frameRate, DEFAULT_N_OF_THREADS);
+  }
 
   public enum SplitType {
     ROWS, COLUMNS
@@ -81,10 +81,7 @@ public class Misc {
     }
     double[] vs = Arrays.copyOf(values, values.length);
     Arrays.sort(vs);
-    if (vs.length % 2 == 0) {
-      return (vs[values.length / 2 - 1] + vs[values.length / 2]) / 2d;
-    }
-    return vs[values.length / 2];
+    return sortedMedian(vs);
   }
 
   public static <K> K median(Collection<K> ks, Comparator<? super K> comparator) {
@@ -95,8 +92,25 @@ public class Misc {
 
   public static <K> K percentile(Collection<K> ks, Comparator<? super K> comparator, double p) {
     List<K> collection = ks.stream().sorted(comparator).toList();
-    int i = (int) Math.max(Math.min(((double) collection.size()) * p, collection.size() - 1), 0);
-    return collection.get(i);
+    return collection.get(percentileIndex(collection.size(), p));
+  }
+
+  public static double percentile(double[] values, double p) {
+    return percentiles(values, p)[0];
+  }
+
+  private static int percentileIndex(int size, double p) {
+    return (int) Math.max(Math.min(((double) size) * p, size - 1), 0);
+  }
+
+  public static double[] percentiles(double[] values, double... ps) {
+    double[] vs = Arrays.copyOf(values, values.length);
+    Arrays.sort(vs);
+    double[] percentiles = new double[ps.length];
+    for (int i = 0; i < ps.length; i = i + 1) {
+      percentiles[i] = sortedPercentile(vs, ps[i]);
+    }
+    return percentiles;
   }
 
   public static void showImage(BufferedImage image) {
@@ -121,4 +135,15 @@ public class Misc {
       frame.setVisible(true);
     });
   }
+
+  public static double sortedMedian(double[] sortedValues) {
+    if (sortedValues.length % 2 == 0) {
+      return (sortedValues[sortedValues.length / 2 - 1] + sortedValues[sortedValues.length / 2]) / 2d;
+    }
+    return sortedValues[sortedValues.length / 2];
+  }
+
+  public static double sortedPercentile(double[] sortedValues, double p) {
+    return sortedValues[percentileIndex(sortedValues.length, p)];
+  }
 }
@@ -0,0 +1,194 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-core
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.core.util;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBufferByte;
+import java.awt.image.WritableRaster;
+import java.util.stream.IntStream;
+import org.jcodec.common.model.ColorSpace;
+import org.jcodec.common.model.Picture;
+
+/**
+ * Converts {@link BufferedImage}s to JCodec {@link Picture}s, either in {@link ColorSpace#RGB} or directly in
+ * {@link ColorSpace#YUV420J}, which is the input color space of the JCodec H.264 encoder. Images of type
+ * {@link BufferedImage#TYPE_3BYTE_BGR} are read straight from their backing byte array; other images are first drawn,
+ * on a white background, on a reused BGR buffer. If {@code parallel} is set, the rows of the image are processed in
+ * blocks on the common fork-join pool. The conversion to YUV420J uses the same integer arithmetic of JCodec
+ * {@code RgbToYuv420j}. Instances are not thread-safe.
+ */
+public class PictureConverter {
+
+  private static final int ROWS_PER_BLOCK = 32;
+  private static final int MIN_PARALLEL_PIXELS = 256 * 256;
+
+  private final ColorSpace colorSpace;
+  private final boolean parallel;
+  private BufferedImage buffer;
+
+  public PictureConverter(ColorSpace colorSpace, boolean parallel) {
+    if (!colorSpace.equals(ColorSpace.RGB) && !colorSpace.equals(ColorSpace.YUV420J)) {
+      throw new IllegalArgumentException("Unsupported color space: %s".formatted(colorSpace));
+    }
+    this.colorSpace = colorSpace;
+    this.parallel = parallel;
+  }
+
+  public PictureConverter(ColorSpace colorSpace) {
+    this(colorSpace, true);
+  }
+
+  static byte[] bgrData(BufferedImage image) {
+    if (image.getType() != BufferedImage.TYPE_3BYTE_BGR) {
+      return null;
+    }
+    WritableRaster raster = image.getRaster();
+    if (raster.getParent() != null || !(raster.getDataBuffer() instanceof DataBufferByte dataBuffer)) {
+      return null;
+    }
+    if (dataBuffer.getNumBanks() != 1 || dataBuffer.getOffset() != 0) {
+      return null;
+    }
+    if (raster.getSampleModel() instanceof ComponentSampleModel sampleModel && sampleModel
+        .getScanlineStride() == image.getWidth() * 3 && sampleModel.getPixelStride() == 3) {
+      return dataBuffer.getData();
+    }
+    return null;
+  }
+
+  private static byte clip(int v) {
+    return (byte) Math.max(-128, Math.min(127, v));
+  }
+
+  private static int u(byte[] bgr, int off) {
+    return clip((-43 * (bgr[off + 2] & 0xff) - 85 * (bgr[off + 1] & 0xff) + 128 * (bgr[off] & 0xff) + 128) >> 8);
+  }
+
+  private static int v(byte[] bgr, int off) {
+    return clip((128 * (bgr[off + 2] & 0xff) - 107 * (bgr[off + 1] & 0xff) - 21 * (bgr[off] & 0xff) + 128) >> 8);
+  }
+
+  private static void toRgb(byte[] src, byte[] dst, int w, int fromY, int toY) {
+    for (int i = fromY * w * 3; i < toY * w * 3; i = i + 3) {
+      dst[i] = (byte) (src[i + 2] ^ 0x80);
+      dst[i + 1] = (byte) (src[i + 1] ^ 0x80);
+      dst[i + 2] = (byte) (src[i] ^ 0x80);
+    }
+  }
+
+  private static void toYuv420(
+      byte[] src,
+      byte[] dstY,
+      byte[] dstU,
+      byte[] dstV,
+      int w,
+      int cW,
+      int cH,
+      int fromY,
+      int toY
+  ) {
+    for (int y = fromY; y < toY; y++) {
+      int sOff = y * w * 3;
+      int yOff = y * w;
+      for (int x = 0; x < w; x++) {
+        int b = src[sOff] & 0xff;
+        int g = src[sOff + 1] & 0xff;
+        int r = src[sOff + 2] & 0xff;
+        dstY[yOff] = clip(((77 * r + 150 * g + 15 * b + 128) >> 8) - 128);
+        sOff = sOff + 3;
+        yOff = yOff + 1;
+      }
+    }
+    for (int cy = fromY / 2; cy < Math.min(cH, toY / 2); cy++) {
+      int sOff0 = 2 * cy * w * 3;
+      int sOff1 = sOff0 + w * 3;
+      for (int cx = 0; cx < cW; cx++) {
+        int u = u(src, sOff0) + u(src, sOff0 + 3) + u(src, sOff1) + u(src, sOff1 + 3);
+        int v = v(src, sOff0) + v(src, sOff0 + 3) + v(src, sOff1) + v(src, sOff1 + 3);
+        dstU[cy * cW + cx] = (byte) ((u + 2) >> 2);
+        dstV[cy * cW + cx] = (byte) ((v + 2) >> 2);
+        sOff0 = sOff0 + 6;
+        sOff1 = sOff1 + 6;
+      }
+    }
+  }
+
+  public ColorSpace colorSpace() {
+    return colorSpace;
+  }
+
+  /**
+   * Converts {@code src} writing on {@code dst}, if it is not null and has the proper size and color space, or on a
+   * new picture otherwise.
+   *
+   * @return the picture actually written, i.e., {@code dst} or a new picture
+   */
+  public Picture convert(BufferedImage src, Picture dst) {
+    int w = src.getWidth();
+    int h = src.getHeight();
+    if (dst == null || dst.getWidth() != w || dst.getHeight() != h || !dst.getColor().equals(colorSpace)) {
+      dst = Picture.create(w, h, colorSpace);
+    }
+    byte[] data = bgrData(src);
+    if (data == null) {
+      if (buffer == null || buffer.getWidth() != w || buffer.getHeight() != h) {
+        buffer = new BufferedImage(w, h, BufferedImage.TYPE_3BYTE_BGR);
+      }
+      Graphics2D g = buffer.createGraphics();
+      g.setColor(Color.WHITE);
+      g.fillRect(0, 0, w, h);
+      g.drawImage(src, 0, 0, null);
+      g.dispose();
+      data = bgrData(buffer);
+    }
+    byte[] src3 = data;
+    Picture picture = dst;
+    int nOfBlocks = (h + ROWS_PER_BLOCK - 1) / ROWS_PER_BLOCK;
+    IntStream blocks = IntStream.range(0, nOfBlocks);
+    if (parallel && nOfBlocks > 1 && w * h >= MIN_PARALLEL_PIXELS) {
+      blocks = blocks.parallel();
+    }
+    if (colorSpace.equals(ColorSpace.RGB)) {
+      blocks.forEach(
+          i -> toRgb(src3, picture.getPlaneData(0), w, i * ROWS_PER_BLOCK, Math.min(h, (i + 1) * ROWS_PER_BLOCK))
+      );
+    } else {
+      int cW = picture.getPlaneWidth(1);
+      int cH = picture.getPlaneHeight(1);
+      blocks.forEach(
+          i -> toYuv420(
+              src3,
+              picture.getPlaneData(0),
+              picture.getPlaneData(1),
+              picture.getPlaneData(2),
+              w,
+              cW,
+              cH,
+              i * ROWS_PER_BLOCK,
+              Math.min(h, (i + 1) * ROWS_PER_BLOCK)
+          )
+      );
+    }
+    return picture;
+  }
+}
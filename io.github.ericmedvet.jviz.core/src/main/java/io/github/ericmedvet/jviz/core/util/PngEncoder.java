@@ -0,0 +1,328 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-core
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.core.util;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Encodes {@link BufferedImage}s as 8-bit RGB (or RGBA, if the image has alpha) PNG files. Rows are filtered and
+ * compressed in blocks of about {@value #BLOCK_SIZE} bytes: each block is an independent raw deflate stream, primed
+ * with the last 32 KiB of the previous block as dictionary and terminated by a sync flush, so that the blocks can be
+ * processed on the common fork-join pool, if {@code parallel} is set, and then concatenated in a single valid zlib
+ * stream (as done by pigz). Images of type {@link BufferedImage#TYPE_3BYTE_BGR} are read straight from their backing
+ * byte array. Instances are stateless and thread-safe.
+ */
+public class PngEncoder {
+
+  public static final int DEFAULT_COMPRESSION_LEVEL = 4;
+  public static final Filter DEFAULT_FILTER = Filter.ADAPTIVE;
+  private static final int BLOCK_SIZE = 128 * 1024;
+  private static final int DICTIONARY_SIZE = 32 * 1024;
+  private static final int ADLER_BASE = 65521;
+  private static final byte[] SIGNATURE = new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+
+  private final int compressionLevel;
+  private final Filter filter;
+  private final boolean parallel;
+
+  public PngEncoder(int compressionLevel, Filter filter, boolean parallel) {
+    if (compressionLevel < 0 || compressionLevel > 9) {
+      throw new IllegalArgumentException("Invalid compression level %d: not in [0,9]".formatted(compressionLevel));
+    }
+    this.compressionLevel = compressionLevel;
+    this.filter = filter;
+    this.parallel = parallel;
+  }
+
+  public PngEncoder(int compressionLevel, Filter filter) {
+    this(compressionLevel, filter, true);
+  }
+
+  public PngEncoder() {
+    this(DEFAULT_COMPRESSION_LEVEL, DEFAULT_FILTER);
+  }
+
+  public enum Filter { NONE, SUB, UP, AVERAGE, PAETH, ADAPTIVE }
+
+  private record Block(byte[] data, long adler) {}
+
+  private static long adlerCombine(long adler1, long adler2, long length2) {
+    long rem = length2 % ADLER_BASE;
+    long sum1 = adler1 & 0xffff;
+    long sum2 = (rem * sum1) % ADLER_BASE;
+    sum1 = sum1 + (adler2 & 0xffff) + ADLER_BASE - 1;
+    sum2 = sum2 + ((adler1 >> 16) & 0xffff) + ((adler2 >> 16) & 0xffff) + ADLER_BASE - rem;
+    sum1 = sum1 % ADLER_BASE;
+    sum2 = sum2 % ADLER_BASE;
+    return (sum2 << 16) | sum1;
+  }
+
+  private static void filterRow(byte[] raw, byte[] prior, int bpp, Filter filter, byte[] dst, int dstOff) {
+    int n = raw.length;
+    dst[dstOff] = (byte) filter.ordinal();
+    int o = dstOff + 1;
+    switch (filter) {
+      case NONE -> System.arraycopy(raw, 0, dst, o, n);
+      case SUB -> {
+        for (int i = 0; i < n; i++) {
+          dst[o + i] = (byte) (raw[i] - (i >= bpp ? raw[i - bpp] : 0));
+        }
+      }
+      case UP -> {
+        for (int i = 0; i < n; i++) {
+          dst[o + i] = (byte) (raw[i] - prior[i]);
+        }
+      }
+      case AVERAGE -> {
+        for (int i = 0; i < n; i++) {
+          int a = i >= bpp ? raw[i - bpp] & 0xff : 0;
+          dst[o + i] = (byte) (raw[i] - ((a + (prior[i] & 0xff)) >> 1));
+        }
+      }
+      case PAETH -> {
+        for (int i = 0; i < n; i++) {
+          int a = i >= bpp ? raw[i - bpp] & 0xff : 0;
+          int b = prior[i] & 0xff;
+          int c = i >= bpp ? prior[i - bpp] & 0xff : 0;
+          int pa = Math.abs(b - c);
+          int pb = Math.abs(a - c);
+          int pc = Math.abs(a + b - 2 * c);
+          int predictor = (pa <= pb && pa <= pc) ? a : (pb <= pc ? b : c);
+          dst[o + i] = (byte) (raw[i] - predictor);
+        }
+      }
+      case ADAPTIVE -> throw new IllegalArgumentException("Adaptive is not a filter type");
+    }
+  }
+
+  private static void readRow(BufferedImage image, byte[] bgr, int[] argb, int y, boolean alpha, byte[] dst) {
+    int w = image.getWidth();
+    if (bgr != null) {
+      int sOff = y * w * 3;
+      for (int i = 0; i < w * 3; i = i + 3) {
+        dst[i] = bgr[sOff + i + 2];
+        dst[i + 1] = bgr[sOff + i + 1];
+        dst[i + 2] = bgr[sOff + i];
+      }
+      return;
+    }
+    image.getRGB(0, y, w, 1, argb, 0, w);
+    int bpp = alpha ? 4 : 3;
+    for (int x = 0; x < w; x++) {
+      int c = argb[x];
+      dst[x * bpp] = (byte) (c >> 16);
+      dst[x * bpp + 1] = (byte) (c >> 8);
+      dst[x * bpp + 2] = (byte) c;
+      if (alpha) {
+        dst[x * bpp + 3] = (byte) (c >> 24);
+      }
+    }
+  }
+
+  private static int score(byte[] filtered, int off, int n) {
+    int sum = 0;
+    for (int i = off + 1; i < off + 1 + n; i++) {
+      sum = sum + Math.abs(filtered[i]);
+    }
+    return sum;
+  }
+
+  private static void writeChunk(OutputStream os, String type, byte[] data) throws IOException {
+    byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+    CRC32 crc = new CRC32();
+    crc.update(typeBytes);
+    crc.update(data);
+    writeInt(os, data.length);
+    os.write(typeBytes);
+    os.write(data);
+    writeInt(os, (int) crc.getValue());
+  }
+
+  private static void writeInt(OutputStream os, int v) throws IOException {
+    os.write(v >>> 24);
+    os.write(v >>> 16);
+    os.write(v >>> 8);
+    os.write(v);
+  }
+
+  private byte[] compress(List<Block> blocks, int i, long adler) {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream(blocks.get(i).data().length / 2 + 64);
+    if (i == 0) {
+      int cmf = 0x78;
+      int fLevel = compressionLevel < 2 ? 0 : (compressionLevel < 6 ? 1 : (compressionLevel == 6 ? 2 : 3));
+      int flg = fLevel << 6;
+      flg = flg + (31 - (cmf * 256 + flg) % 31) % 31;
+      baos.write(cmf);
+      baos.write(flg);
+    }
+    Deflater deflater = new Deflater(compressionLevel, true);
+    try {
+      if (i > 0) {
+        byte[] previous = blocks.get(i - 1).data();
+        int length = Math.min(DICTIONARY_SIZE, previous.length);
+        deflater.setDictionary(previous, previous.length - length, length);
+      }
+      deflater.setInput(blocks.get(i).data());
+      byte[] buffer = new byte[16 * 1024];
+      if (i == blocks.size() - 1) {
+        deflater.finish();
+        while (!deflater.finished()) {
+          baos.write(buffer, 0, deflater.deflate(buffer));
+        }
+      } else {
+        int n;
+        do {
+          n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+          baos.write(buffer, 0, n);
+        } while (n == buffer.length);
+      }
+    } finally {
+      deflater.end();
+    }
+    if (i == blocks.size() - 1) {
+      baos.write((int) (adler >>> 24));
+      baos.write((int) (adler >>> 16));
+      baos.write((int) (adler >>> 8));
+      baos.write((int) adler);
+    }
+    return baos.toByteArray();
+  }
+
+  public byte[] encode(BufferedImage image) {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try {
+      write(image, baos);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return baos.toByteArray();
+  }
+
+  private Block filter(BufferedImage image, byte[] bgr, boolean alpha, int fromY, int toY) {
+    int w = image.getWidth();
+    int bpp = alpha ? 4 : 3;
+    int rowLength = w * bpp;
+    byte[] data = new byte[(toY - fromY) * (rowLength + 1)];
+    int[] argb = bgr == null ? new int[w] : null;
+    byte[] prior = new byte[rowLength];
+    byte[] raw = new byte[rowLength];
+    if (fromY > 0) {
+      readRow(image, bgr, argb, fromY - 1, alpha, prior);
+    }
+    byte[] candidates = filter.equals(Filter.ADAPTIVE) ? new byte[rowLength + 1] : null;
+    for (int y = fromY; y < toY; y++) {
+      readRow(image, bgr, argb, y, alpha, raw);
+      int off = (y - fromY) * (rowLength + 1);
+      if (candidates == null) {
+        filterRow(raw, prior, bpp, filter, data, off);
+      } else {
+        int bestScore = Integer.MAX_VALUE;
+        for (Filter candidate : Filter.values()) {
+          if (!candidate.equals(Filter.ADAPTIVE)) {
+            filterRow(raw, prior, bpp, candidate, candidates, 0);
+            int score = score(candidates, 0, rowLength);
+            if (score < bestScore) {
+              bestScore = score;
+              System.arraycopy(candidates, 0, data, off, rowLength + 1);
+            }
+          }
+        }
+      }
+      byte[] tmp = prior;
+      prior = raw;
+      raw = tmp;
+    }
+    Adler32 adler32 = new Adler32();
+    adler32.update(data);
+    return new Block(data, adler32.getValue());
+  }
+
+  public void write(BufferedImage image, OutputStream os) throws IOException {
+    int w = image.getWidth();
+    int h = image.getHeight();
+    byte[] bgr = PictureConverter.bgrData(image);
+    boolean alpha = bgr == null && image.getColorModel().hasAlpha();
+    int rowLength = w * (alpha ? 4 : 3) + 1;
+    int rowsPerBlock = Math.max(1, BLOCK_SIZE / rowLength);
+    int nOfBlocks = (h + rowsPerBlock - 1) / rowsPerBlock;
+    IntStream filterIndexes = IntStream.range(0, nOfBlocks);
+    if (parallel && nOfBlocks > 1) {
+      filterIndexes = filterIndexes.parallel();
+    }
+    List<Block> blocks = filterIndexes.mapToObj(
+        i -> filter(image, bgr, alpha, i * rowsPerBlock, Math.min(h, (i + 1) * rowsPerBlock))
+    ).toList();
+    long adler = 1;
+    for (Block block : blocks) {
+      adler = adlerCombine(adler, block.adler(), block.data().length);
+    }
+    long imageAdler = adler;
+    IntStream compressIndexes = IntStream.range(0, nOfBlocks);
+    if (parallel && nOfBlocks > 1) {
+      compressIndexes = compressIndexes.parallel();
+    }
+    List<byte[]> compressedBlocks = compressIndexes.mapToObj(i -> compress(blocks, i, imageAdler)).toList();
+    os.write(SIGNATURE);
+    ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+    for (int v : new int[]{w, h}) {
+      header.write(v >>> 24);
+      header.write(v >>> 16);
+      header.write(v >>> 8);
+      header.write(v);
+    }
+    header.write(8); // bit depth
+    header.write(alpha ? 6 : 2); // color type: RGBA or RGB
+    header.write(0); // compression method
+    header.write(0); // filter method
+    header.write(0); // interlace method
+    writeChunk(os, "IHDR", header.toByteArray());
+    for (byte[] compressedBlock : compressedBlocks) {
+      writeChunk(os, "IDAT", compressedBlock);
+    }
+    writeChunk(os, "IEND", new byte[0]);
+    os.flush();
+  }
+
+  public void write(BufferedImage image, File file) throws IOException {
+    try (FileChannel channel = FileChannel.open(
+        file.toPath(),
+        StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING
+    ); OutputStream os = new BufferedOutputStream(Channels.newOutputStream(channel), BLOCK_SIZE)) {
+      write(image, os);
+    }
+  }
+}
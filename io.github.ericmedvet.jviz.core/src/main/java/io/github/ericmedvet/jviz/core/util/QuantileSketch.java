@@ -0,0 +1,347 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-core
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.core.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * A mergeable, bounded-memory sketch of a stream of values (a KLL sketch), which allows computing approximate
+ * quantiles and exact count, min, max, and mean. The sketch retains roughly {@code 3k} values, regardless of how many
+ * values are added; the rank error of quantiles is roughly proportional to {@code 1/k}. As long as the number of added
+ * values does not exceed {@code k}, the sketch retains all the values and quantiles are exact, i.e., they are the same
+ * as the ones of {@link Misc#percentile(java.util.Collection, java.util.Comparator, double)}. Compaction uses a random
+ * generator with a fixed seed, hence the same stream results in the same sketch. Instances are not thread-safe.
+ */
+public class QuantileSketch {
+
+  public static final int DEFAULT_K = 200;
+  private static final double CAPACITY_DECAY = 2d / 3d;
+  private static final int MIN_CAPACITY = 2;
+
+  private final int k;
+  private final List<double[]> levels;
+  private int[] sizes;
+  private int size;
+  private int maxSize;
+  private long count;
+  private double min;
+  private double max;
+  private double sum;
+  private final RandomGenerator randomGenerator;
+
+  public QuantileSketch(int k) {
+    if (k < MIN_CAPACITY) {
+      throw new IllegalArgumentException("Invalid k=%d: must be >= %d".formatted(k, MIN_CAPACITY));
+    }
+    this.k = k;
+    levels = new ArrayList<>();
+    sizes = new int[0];
+    size = 0;
+    count = 0;
+    min = Double.POSITIVE_INFINITY;
+    max = Double.NEGATIVE_INFINITY;
+    sum = 0;
+    randomGenerator = new Random(k);
+    addLevel();
+  }
+
+  public QuantileSketch() {
+    this(DEFAULT_K);
+  }
+
+  private void addLevel() {
+    levels.add(null);
+    sizes = Arrays.copyOf(sizes, levels.size());
+    maxSize = 0;
+    for (int h = 0; h < levels.size(); h++) {
+      maxSize = maxSize + capacity(h);
+    }
+    levels.set(levels.size() - 1, new double[capacity(levels.size() - 1)]);
+  }
+
+  private void append(int h, double[] vs, int n) {
+    double[] level = levels.get(h);
+    int levelSize = sizes[h];
+    if (levelSize + n > level.length) {
+      level = Arrays.copyOf(level, Math.max(levelSize + n, level.length * 2));
+      levels.set(h, level);
+    }
+    System.arraycopy(vs, 0, level, levelSize, n);
+    sizes[h] = levelSize + n;
+    size = size + n;
+  }
+
+  private int capacity(int h) {
+    int depth = levels.size() - h - 1;
+    return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+  }
+
+  private void compact() {
+    while (size > maxSize) {
+      int h = 0;
+      while (h < levels.size() - 1 && sizes[h] < capacity(h)) {
+        h = h + 1;
+      }
+      if (h == levels.size() - 1) {
+        addLevel();
+      }
+      double[] level = levels.get(h);
+      int levelSize = sizes[h];
+      Arrays.sort(level, 0, levelSize);
+      // promote every other value, keeping the largest one at this level if the size is odd
+      int nOfPairs = levelSize / 2;
+      double[] promoted = new double[nOfPairs];
+      int offset = randomGenerator.nextBoolean() ? 1 : 0;
+      for (int i = 0; i < nOfPairs; i++) {
+        promoted[i] = level[2 * i + offset];
+      }
+      sizes[h] = levelSize % 2;
+      if (levelSize % 2 == 1) {
+        level[0] = level[levelSize - 1];
+      }
+      size = size - nOfPairs * 2;
+      append(h + 1, promoted, nOfPairs);
+    }
+  }
+
+  public void add(double v) {
+    count = count + 1;
+    min = Math.min(min, v);
+    max = Math.max(max, v);
+    sum = sum + v;
+    double[] level = levels.getFirst();
+    if (sizes[0] == level.length) {
+      level = Arrays.copyOf(level, level.length * 2);
+      levels.set(0, level);
+    }
+    level[sizes[0]] = v;
+    sizes[0] = sizes[0] + 1;
+    size = size + 1;
+    compact();
+  }
+
+  public QuantileSketch copy() {
+    QuantileSketch copy = new QuantileSketch(k);
+    copy.merge(this);
+    return copy;
+  }
+
+  public long count() {
+    return count;
+  }
+
+  public boolean isEmpty() {
+    return count == 0;
+  }
+
+  /**
+   * Returns the values retained by this sketch, which are a subset of the added values. Each retained value stands for
+   * a power-of-two number of added values, hence the retained values are not a representative sample of the added
+   * ones: use {@link #sample(int)} for that.
+   */
+  public List<Double> items() {
+    List<Double> items = new ArrayList<>(size());
+    for (int h = 0; h < levels.size(); h++) {
+      double[] level = levels.get(h);
+      for (int i = 0; i < sizes[h]; i++) {
+        items.add(level[i]);
+      }
+    }
+    return items;
+  }
+
+  public int k() {
+    return k;
+  }
+
+  public double max() {
+    checkNotEmpty();
+    return max;
+  }
+
+  public double mean() {
+    checkNotEmpty();
+    return sum / (double) count;
+  }
+
+  public double median() {
+    return quantile(0.5);
+  }
+
+  /**
+   * Adds all the values of {@code other} to this sketch. {@code other} is not modified and does not share any state
+   * with this sketch after this method returns.
+   */
+  public void merge(QuantileSketch other) {
+    if (other.isEmpty()) {
+      return;
+    }
+    while (levels.size() < other.levels.size()) {
+      addLevel();
+    }
+    for (int h = 0; h < other.levels.size(); h++) {
+      append(h, other.levels.get(h), other.sizes[h]);
+    }
+    count = count + other.count;
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+    sum = sum + other.sum;
+    compact();
+  }
+
+  public double min() {
+    checkNotEmpty();
+    return min;
+  }
+
+  /**
+   * Returns the (approximate) value at rank {@code floor(p n)} among the {@code n} added values, where {@code p} is
+   * clipped in {@code [0,1]}. The quantiles for {@code p=0} and {@code p=1} are the exact min and max.
+   */
+  public double quantile(double p) {
+    checkNotEmpty();
+    if (p <= 0) {
+      return min;
+    }
+    if (p >= 1) {
+      return max;
+    }
+    return quantiles(p)[0];
+  }
+
+  /**
+   * Returns the (approximate) quantiles for the given {@code ps}, with a single sorted sweep of the retained values.
+   */
+  public double[] quantiles(double... ps) {
+    checkNotEmpty();
+    int nOfLevels = levels.size();
+    double[][] sortedLevels = new double[nOfLevels][];
+    for (int h = 0; h < nOfLevels; h++) {
+      sortedLevels[h] = Arrays.copyOf(levels.get(h), sizes[h]);
+      Arrays.sort(sortedLevels[h]);
+    }
+    Integer[] pIndexes = new Integer[ps.length];
+    for (int i = 0; i < ps.length; i++) {
+      pIndexes[i] = i;
+    }
+    Arrays.sort(pIndexes, (i1, i2) -> Double.compare(ps[i1], ps[i2]));
+    double[] qs = new double[ps.length];
+    int[] positions = new int[nOfLevels];
+    long cumulatedWeight = 0;
+    double current = min;
+    for (int pIndex : pIndexes) {
+      double p = ps[pIndex];
+      if (p <= 0) {
+        qs[pIndex] = min;
+        continue;
+      }
+      if (p >= 1) {
+        qs[pIndex] = max;
+        continue;
+      }
+      long rank = (long) Math.min(Math.floor(p * count), count - 1);
+      // advance the multi-way merge of sorted levels until the cumulated weight exceeds the rank
+      while (cumulatedWeight <= rank) {
+        int minH = -1;
+        for (int h = 0; h < nOfLevels; h++) {
+          if (positions[h] < sortedLevels[h].length) {
+            if (minH < 0 || sortedLevels[h][positions[h]] < sortedLevels[minH][positions[minH]]) {
+              minH = h;
+            }
+          }
+        }
+        if (minH < 0) {
+          current = max;
+          break;
+        }
+        current = sortedLevels[minH][positions[minH]];
+        positions[minH] = positions[minH] + 1;
+        cumulatedWeight = cumulatedWeight + (1L << minH);
+      }
+      qs[pIndex] = current;
+    }
+    return qs;
+  }
+
+  /**
+   * Returns the (approximate) number of added values which are smaller than {@code v}, i.e., the total weight of the
+   * retained values smaller than {@code v}.
+   */
+  public long rank(double v) {
+    long rank = 0;
+    for (int h = 0; h < levels.size(); h++) {
+      double[] level = levels.get(h);
+      for (int i = 0; i < sizes[h]; i++) {
+        if (level[i] < v) {
+          rank = rank + (1L << h);
+        }
+      }
+    }
+    return rank;
+  }
+
+  /**
+   * Returns {@code n} values representative of the added values, i.e., the (approximate) quantiles for {@code p=i/(n-1)}
+   * with {@code i=0,...,n-1}, in increasing order; the first and last values are the exact min and max. If this sketch
+   * retains all the added values and {@code n} is their number, returns them sorted. Returns an empty list if the
+   * sketch is empty.
+   */
+  public List<Double> sample(int n) {
+    if (isEmpty() || n <= 0) {
+      return List.of();
+    }
+    if (n == 1) {
+      return List.of(median());
+    }
+    if (n == count && size == count) {
+      List<Double> items = items();
+      items.sort(Double::compareTo);
+      return items;
+    }
+    double[] ps = new double[n];
+    for (int i = 0; i < n; i++) {
+      ps[i] = (double) i / (n - 1d);
+    }
+    return Arrays.stream(quantiles(ps)).boxed().toList();
+  }
+
+  /**
+   * Returns the number of values retained by this sketch.
+   */
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public String toString() {
+    return "QuantileSketch(k=%d;count=%d;size=%d)".formatted(k, count, size());
+  }
+
+  private void checkNotEmpty() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Empty sketch");
+    }
+  }
+}
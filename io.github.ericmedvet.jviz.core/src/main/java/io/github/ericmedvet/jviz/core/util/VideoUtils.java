@@ -20,32 +20,32 @@
 
 package io.github.ericmedvet.jviz.core.util;
 
+import java.awt.Color;
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import javax.imageio.ImageIO;
-import org.jcodec.api.SequenceEncoder;
+import org.jcodec.api.transcode.PixelStore;
+import org.jcodec.api.transcode.SinkImpl;
+import org.jcodec.api.transcode.VideoFrameWithPacket;
+import org.jcodec.common.Codec;
 import org.jcodec.common.Format;
 import org.jcodec.common.io.NIOUtils;
 import org.jcodec.common.io.SeekableByteChannel;
-import org.jcodec.common.model.ColorSpace;
+import org.jcodec.common.model.Packet;
 import org.jcodec.common.model.Picture;
 import org.jcodec.common.model.Rational;
 
 public class VideoUtils {
 
-  private static final int alphaR = 0xff;
-  private static final int alphaG = 0xff;
-  private static final int alphaB = 0xff;
-
   private static final EncoderFacility FALL_BACK_ENCODER = EncoderFacility.JCODEC;
   private static final EncoderFacility PREFERRED_ENCODER = EncoderFacility.FFMPEG_SMALL;
   private static final Logger L = Logger.getLogger(VideoUtils.class.getName());
@@ -59,27 +59,210 @@ public class VideoUtils {
     DEFAULT, JCODEC, FFMPEG_LARGE, FFMPEG_SMALL
   }
 
-  private static void bufImgToPicture(BufferedImage src, Picture dst) {
-    byte[] dstData = dst.getPlaneData(0);
-    int off = 0;
-    for (int i = 0; i < src.getHeight(); i++) {
-      for (int j = 0; j < src.getWidth(); j++) {
-        int rgb1 = src.getRGB(j, i);
-        int alpha = (rgb1 >> 24) & 0xff;
-        if (alpha == 0xff) {
-          dstData[off++] = (byte) (((rgb1 >> 16) & 0xff) - 128);
-          dstData[off++] = (byte) (((rgb1 >> 8) & 0xff) - 128);
-          dstData[off++] = (byte) ((rgb1 & 0xff) - 128);
-        } else {
-          int nalpha = 255 - alpha;
-          dstData[off++] = (byte) (((((rgb1 >> 16) & 0xff) * alpha + alphaR * nalpha) >> 8) - 128);
-          dstData[off++] = (byte) (((((rgb1 >> 8) & 0xff) * alpha + alphaG * nalpha) >> 8) - 128);
-          dstData[off++] = (byte) ((((rgb1 & 0xff) * alpha + alphaB * nalpha) >> 8) - 128);
+  /**
+   * A consumer of the frames of a video, which are encoded as soon as they are accepted: the sink does not keep
+   * references to the accepted frames. Closing the sink finalizes the encoding.
+   */
+  public interface FrameSink extends Closeable {
+    void accept(BufferedImage frame) throws IOException;
+  }
+
+  /**
+   * A producer of the frames of a video, which pushes the frames, one at a time and in order, to a {@link FrameSink}.
+   */
+  @FunctionalInterface
+  public interface FrameSource {
+    static FrameSource of(List<BufferedImage> images) {
+      return sink -> {
+        for (BufferedImage image : images) {
+          sink.accept(image);
         }
+      };
+    }
+
+    void writeTo(FrameSink sink) throws IOException;
+  }
+
+  /**
+   * A sink which writes raw BGR24 frames to the standard input of an {@code ffmpeg} process, started upon the first
+   * frame. Frames of type {@link BufferedImage#TYPE_3BYTE_BGR} (as the ones produced by
+   * {@link io.github.ericmedvet.jviz.core.drawer.BufferedImageG2DProvider}) are written straight from their raster;
+   * other frames are first drawn on a reused BGR buffer. Writing blocks while {@code ffmpeg} is not consuming its
+   * input, hence at most a few frames are buffered. The output of the process is drained by a separate thread and its
+   * tail is reported if the process fails.
+   */
+  private static class FFMpegFrameSink implements FrameSink {
+    private static final int OUTPUT_TAIL_LENGTH = 4096;
+    private final double frameRate;
+    private final File file;
+    private final int compression;
+    private final StringBuilder output;
+    private Process process;
+    private OutputStream processInput;
+    private Thread drainer;
+    private BufferedImage buffer;
+    private int w;
+    private int h;
+    private int nOfFrames;
+
+    private FFMpegFrameSink(double frameRate, File file, int compression) {
+      this.frameRate = frameRate;
+      this.file = file;
+      this.compression = compression;
+      output = new StringBuilder();
+      nOfFrames = 0;
+    }
+
+    @Override
+    public void accept(BufferedImage frame) throws IOException {
+      if (process == null) {
+        start(frame.getWidth(), frame.getHeight());
+      }
+      byte[] data = frame.getWidth() == w && frame.getHeight() == h ? PictureConverter.bgrData(frame) : null;
+      if (data == null) {
+        if (buffer == null) {
+          buffer = new BufferedImage(w, h, BufferedImage.TYPE_3BYTE_BGR);
+        }
+        Graphics2D g = buffer.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, w, h);
+        g.drawImage(frame, 0, 0, w, h, null);
+        g.dispose();
+        data = PictureConverter.bgrData(buffer);
+      }
+      try {
+        processInput.write(data, 0, w * h * 3);
+      } catch (IOException e) {
+        throw new IOException("Cannot write frame %d to ffmpeg: %s".formatted(nOfFrames, outputTail()), e);
       }
+      nOfFrames = nOfFrames + 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (process == null) {
+        L.warning("No frames to encode in %s".formatted(file));
+        return;
+      }
+      try {
+        processInput.close();
+        int exitVal = process.waitFor();
+        drainer.join();
+        if (exitVal != 0) {
+          throw new IOException("Unexpected ffmpeg exit val: %d. Output tail is:%n%s".formatted(exitVal, outputTail()));
+        }
+        L.fine("Encoded %d frames in %s".formatted(nOfFrames, file));
+      } catch (InterruptedException e) {
+        process.destroy();
+        throw new IOException(e);
+      }
+    }
+
+    private String outputTail() {
+      synchronized (output) {
+        return output.toString();
+      }
+    }
+
+    private void start(int w, int h) throws IOException {
+      this.w = w;
+      this.h = h;
+      List<String> command = List.of(
+          "ffmpeg",
+          "-y",
+          "-loglevel",
+          "error",
+          "-f",
+          "rawvideo",
+          "-pix_fmt",
+          "bgr24",
+          "-s",
+          "%dx%d".formatted(w, h),
+          "-r",
+          Integer.toString((int) Math.round(frameRate)),
+          "-i",
+          "-",
+          "-vf",
+          "pad=ceil(iw/2)*2:ceil(ih/2)*2",
+          "-vcodec",
+          "libx264",
+          "-crf",
+          Integer.toString(compression),
+          "-pix_fmt",
+          "yuv420p",
+          file.getAbsolutePath()
+      );
+      L.fine(String.format("Running: %s", String.join(" ", command)));
+      ProcessBuilder pb = new ProcessBuilder(command);
+      pb.redirectErrorStream(true);
+      process = pb.start();
+      processInput = process.getOutputStream();
+      drainer = Thread.ofPlatform().daemon().name("ffmpeg-output-drainer").start(() -> {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+          String line;
+          while ((line = reader.readLine()) != null) {
+            synchronized (output) {
+              output.append(line).append("\n");
+              if (output.length() > OUTPUT_TAIL_LENGTH) {
+                output.delete(0, output.length() - OUTPUT_TAIL_LENGTH);
+              }
+            }
+          }
+        } catch (IOException e) {
+          L.log(Level.FINE, "Cannot read ffmpeg output", e);
+        }
+      });
     }
   }
 
+  private static class JCodecFrameSink implements FrameSink {
+    private final SeekableByteChannel channel;
+    private final SinkImpl sink;
+    private final Rational fps;
+    private final PictureConverter converter;
+    private Picture picture;
+    private int nOfFrames;
+
+    private JCodecFrameSink(double frameRate, File file) throws IOException {
+      channel = NIOUtils.writableChannel(file);
+      sink = SinkImpl.createWithStream(channel, Format.MOV, Codec.H264, null);
+      sink.init();
+      fps = Rational.R((int) Math.round(frameRate), 1);
+      // the converter produces pictures directly in the input color space of the encoder (YUV420J for H.264)
+      converter = new PictureConverter(sink.getInputColor());
+    }
+
+    @Override
+    public void accept(BufferedImage frame) {
+      picture = converter.convert(frame, picture);
+      Packet packet = Packet.createPacket(
+          null,
+          (long) nOfFrames * fps.getDen(),
+          fps.getNum(),
+          fps.getDen(),
+          nOfFrames,
+          Packet.FrameType.KEY,
+          null
+      );
+      try {
+        sink.outputVideoFrame(new VideoFrameWithPacket(packet, new PixelStore.LoanerPicture(picture, 0)));
+      } catch (IOException ex) {
+        L.severe(String.format("Cannot encode image due to %s", ex));
+      }
+      nOfFrames = nOfFrames + 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        sink.finish();
+      } finally {
+        NIOUtils.closeQuietly(channel);
+      }
+    }
+  }
+
+
   public static EncoderFacility defaultEncoder() {
     if (defaultEncoder == null) {
       if (PREFERRED_ENCODER.equals(EncoderFacility.FFMPEG_LARGE) || PREFERRED_ENCODER.equals(
@@ -110,111 +293,53 @@ public class VideoUtils {
       double frameRate,
       EncoderFacility encoder
   ) throws IOException {
-    File tmpFile = File.createTempFile("video", ".mp4");
-    encodeAndSave(images, frameRate, tmpFile, encoder);
-    return Files.readAllBytes(tmpFile.toPath());
+    return encode(FrameSource.of(images), frameRate, encoder);
   }
 
-  public static void encodeAndSave(
-      List<BufferedImage> images,
+  public static byte[] encode(
+      FrameSource source,
       double frameRate,
-      File file,
       EncoderFacility encoder
   ) throws IOException {
-    switch (encoder) {
-      case DEFAULT -> encodeAndSave(images, frameRate, file, defaultEncoder());
-      case JCODEC -> encodeAndSaveWithJCodec(images, frameRate, file);
-      case FFMPEG_LARGE -> encodeAndSaveWithFFMpeg(images, frameRate, file, 18);
-      case FFMPEG_SMALL -> encodeAndSaveWithFFMpeg(images, frameRate, file, 30);
+    File tmpFile = File.createTempFile("video", ".mp4");
+    try {
+      encodeAndSave(source, frameRate, tmpFile, encoder);
+      return Files.readAllBytes(tmpFile.toPath());
+    } finally {
+      Files.deleteIfExists(tmpFile.toPath());
     }
   }
 
-  private static void encodeAndSaveWithFFMpeg(
+  public static void encodeAndSave(
       List<BufferedImage> images,
       double frameRate,
       File file,
-      int compression
+      EncoderFacility encoder
   ) throws IOException {
-    // save all files
-    String workingDirName = file.getAbsoluteFile().getParentFile().getPath();
-    String outFileName = file.getName();
-    String imagesDirName = workingDirName + File.separator + "imgs." + System.currentTimeMillis();
-    Files.createDirectories(Path.of(imagesDirName));
-    List<Path> toDeletePaths = new ArrayList<>();
-    L.fine(String.format("Saving %d files in %s", images.size(), imagesDirName));
-    for (int i = 0; i < images.size(); i++) {
-      File imageFile = new File(imagesDirName + File.separator + String.format("frame%06d", i) + ".jpg");
-      ImageIO.write(images.get(i), "jpg", imageFile);
-      toDeletePaths.add(imageFile.toPath());
-    }
-    toDeletePaths.add(Path.of(imagesDirName));
-    // invoke ffmpeg
-    String command = String.format(
-        "ffmpeg -y -r %d -i %s/frame%%06d.jpg -vcodec libx264 -crf %d -pix_fmt yuv420p %s",
-        (int) Math.round(frameRate),
-        imagesDirName,
-        compression,
-        outFileName
-    );
-    L.fine(String.format("Running: %s", command));
-    ProcessBuilder pb = new ProcessBuilder(command.split(" "));
-    pb.directory(new File(workingDirName));
-    StringBuilder sb = new StringBuilder();
-    try {
-      Process process = pb.start();
-      BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-      String line;
-      while ((line = reader.readLine()) != null) {
-        sb.append(line).append("\n");
-      }
-      reader.close();
-      int exitVal = process.waitFor();
-      if (exitVal < 0) {
-        throw new IOException(String.format("Unexpected exit val: %d. Full output is:%n%s", exitVal, sb));
-      }
-    } catch (IOException | InterruptedException e) {
-      throw (e instanceof IOException) ? (IOException) e : (new IOException(e));
-    } finally {
-      // delete all files
-      L.fine(String.format("Deleting %d paths", toDeletePaths.size()));
-      for (Path path : toDeletePaths) {
-        try {
-          Files.delete(path);
-        } catch (IOException e) {
-          L.log(Level.WARNING, String.format("Cannot delete %s", path), e);
-        }
-      }
-    }
+    encodeAndSave(FrameSource.of(images), frameRate, file, encoder);
   }
 
-  private static void encodeAndSaveWithJCodec(
-      List<BufferedImage> images,
+  public static void encodeAndSave(
+      FrameSource source,
       double frameRate,
-      File file
+      File file,
+      EncoderFacility encoder
   ) throws IOException {
-    SeekableByteChannel channel = NIOUtils.writableChannel(file);
-    SequenceEncoder encoder = new SequenceEncoder(
-        channel,
-        Rational.R((int) Math.round(frameRate), 1),
-        Format.MOV,
-        org.jcodec.common.Codec.H264,
-        null
-    );
-    // encode
-    try {
-      for (BufferedImage image : images) {
-        Picture picture = Picture.create(image.getWidth(), image.getHeight(), ColorSpace.RGB);
-        bufImgToPicture(image, picture);
-        encoder.encodeNativeFrame(picture);
-      }
-    } catch (IOException ex) {
-      L.severe(String.format("Cannot encode image due to %s", ex));
+    try (FrameSink sink = frameSink(frameRate, file, encoder)) {
+      source.writeTo(sink);
     }
-    encoder.finish();
-    NIOUtils.closeQuietly(channel);
   }
 
   public static void encodeAndSave(List<BufferedImage> images, double frameRate, File file) throws IOException {
     encodeAndSave(images, frameRate, file, defaultEncoder());
   }
+
+  public static FrameSink frameSink(double frameRate, File file, EncoderFacility encoder) throws IOException {
+    return switch (encoder) {
+      case DEFAULT -> frameSink(frameRate, file, defaultEncoder());
+      case JCODEC -> new JCodecFrameSink(frameRate, file);
+      case FFMPEG_LARGE -> new FFMpegFrameSink(frameRate, file, 18);
+      case FFMPEG_SMALL -> new FFMpegFrameSink(frameRate, file, 30);
+    };
+  }
 }
@@ -0,0 +1,239 @@
+/*-
+ * ========================LICENSE_START=================================
+ * jviz-core
+ * %%
+ * Copyright (C) 2024 - 2026 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.jviz.core.drawer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.ericmedvet.jnb.datastructure.DoubleRange;
+import io.github.ericmedvet.jnb.datastructure.Grid;
+import io.github.ericmedvet.jviz.core.drawer.Drawer.Arrangement;
+import io.github.ericmedvet.jviz.core.drawer.Drawer.ImageInfo;
+import io.github.ericmedvet.jviz.core.plot.DistributionPlot;
+import io.github.ericmedvet.jviz.core.plot.RangedValue;
+import io.github.ericmedvet.jviz.core.plot.Value;
+import io.github.ericmedvet.jviz.core.plot.XYDataSeries;
+import io.github.ericmedvet.jviz.core.plot.XYDataSeriesPlot;
+import io.github.ericmedvet.jviz.core.plot.XYPlot.TitledData;
+import io.github.ericmedvet.jviz.core.plot.image.BoxPlotDrawer;
+import io.github.ericmedvet.jviz.core.plot.image.LinesPlotDrawer;
+import io.github.ericmedvet.jviz.core.plot.image.PointsPlotDrawer;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class MultiDrawerTest {
+
+  private static final List<ImageInfo> IMAGE_INFOS = List.of(
+      new ImageInfo(1999, 611),
+      new ImageInfo(1234, 1567),
+      new ImageInfo(3000, 1000)
+  );
+  // compositing a tile over the background may round differently than drawing directly on the background
+  private static final int MAX_CHANNEL_DIFF = 1;
+
+  private static <E> void assertTiledRasterEqualsDirect(Drawer<E> drawer, List<E> es) {
+    for (Arrangement arrangement : Arrangement.values()) {
+      for (ImageInfo imageInfo : IMAGE_INFOS) {
+        BufferedImage tiled = drawer.multi(arrangement).buildRaster(imageInfo, es);
+        BufferedImage direct = directRaster(drawer, arrangement, imageInfo, es);
+        int maxChannelDiff = 0;
+        for (int x = 0; x < imageInfo.w(); x = x + 1) {
+          for (int y = 0; y < imageInfo.h(); y = y + 1) {
+            int tiledRgb = tiled.getRGB(x, y);
+            int directRgb = direct.getRGB(x, y);
+            for (int shift = 0; shift < 24; shift = shift + 8) {
+              maxChannelDiff = Math.max(
+                  maxChannelDiff,
+                  Math.abs(((tiledRgb >> shift) & 0xff) - ((directRgb >> shift) & 0xff))
+              );
+            }
+          }
+        }
+        assertTrue(
+            maxChannelDiff <= MAX_CHANNEL_DIFF,
+            "Tiled and direct multi rasters differ by %d with %s arrangement on %dx%d"
+                .formatted(maxChannelDiff, arrangement, imageInfo.w(), imageInfo.h())
+        );
+      }
+    }
+  }
+
+  /**
+   * Draws the elements one after the other directly on the final image, each through a view of the image with the same
+   * bounds, hence the same device coordinates, of the tile on which the multi drawer renders it.
+   */
+  private static <E> BufferedImage directRaster(
+      Drawer<E> drawer,
+      Arrangement arrangement,
+      ImageInfo imageInfo,
+      List<E> es
+  ) {
+    BufferedImage image = new BufferedImage(imageInfo.w(), imageInfo.h(), BufferedImage.TYPE_3BYTE_BGR);
+    Graphics2D g = image.createGraphics();
+    g.setColor(Drawer.BG_COLOR);
+    g.fillRect(0, 0, imageInfo.w(), imageInfo.h());
+    g.dispose();
+    List<ImageInfo> imageInfos = es.stream().map(drawer::imageInfo).toList();
+    ImageInfo allII = drawer.multi(arrangement).imageInfo(es);
+    double wScale = (double) imageInfo.w() / allII.w();
+    double hScale = (double) imageInfo.h() / allII.h();
+    double x = 0;
+    double y = 0;
+    for (int i = 0; i < es.size(); i = i + 1) {
+      ImageInfo ii = imageInfos.get(i);
+      int minX = (int) Math.floor(x);
+      int minY = (int) Math.floor(y);
+      int maxX = Math.min(imageInfo.w(), (int) Math.ceil(x + ii.w() * wScale));
+      int maxY = Math.min(imageInfo.h(), (int) Math.ceil(y + ii.h() * hScale));
+      Graphics2D elementG = image.getSubimage(minX, minY, maxX - minX, maxY - minY).createGraphics();
+      elementG.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+      elementG.translate(x - minX, y - minY);
+      elementG.scale(wScale, hScale);
+      elementG.setClip(new Rectangle2D.Double(0, 0, ii.w(), ii.h()));
+      drawer.draw(elementG, es.get(i));
+      elementG.dispose();
+      switch (arrangement) {
+        case HORIZONTAL -> x = x + ii.w() * wScale;
+        case VERTICAL -> y = y + ii.h() * hScale;
+      }
+    }
+    return image;
+  }
+
+  private static DistributionPlot distributionPlot(int nOfValues, int gridSide, long seed) {
+    RandomGenerator rg = new Random(seed);
+    return new DistributionPlot(
+        "distribution",
+        "x title",
+        "y title",
+        "x",
+        "y",
+        DoubleRange.UNBOUNDED,
+        Grid.create(
+            gridSide,
+            gridSide,
+            (gX, gY) -> new TitledData<>(
+                "gx=%d".formatted(gX),
+                "gy=%d".formatted(gY),
+                IntStream.range(0, 3)
+                    .mapToObj(
+                        i -> new DistributionPlot.Data(
+                            "s%d".formatted(i),
+                            IntStream.range(0, nOfValues).mapToObj(j -> rg.nextGaussian(i, 1 + i)).toList()
+                        )
+                    )
+                    .toList()
+            )
+        )
+    );
+  }
+
+  private static XYDataSeriesPlot xyPlot(int nOfPoints, int gridSide, boolean ranged, long seed) {
+    RandomGenerator rg = new Random(seed);
+    return new XYDataSeriesPlot(
+        "xy",
+        "x title",
+        "y title",
+        "x",
+        "y",
+        DoubleRange.UNBOUNDED,
+        DoubleRange.UNBOUNDED,
+        Grid.create(
+            gridSide,
+            gridSide,
+            (gX, gY) -> new TitledData<>(
+                "gx=%d".formatted(gX),
+                "gy=%d".formatted(gY),
+                IntStream.range(0, 3)
+                    .mapToObj(
+                        i -> XYDataSeries.of(
+                            "s%d".formatted(i),
+                            IntStream.range(0, nOfPoints)
+                                .mapToObj(j -> {
+                                  double v = Math.sin((1 + i) * j / (double) nOfPoints) + rg.nextGaussian(0, 0.1);
+                                  return new XYDataSeries.Point(
+                                      Value.of(j),
+                                      ranged ? RangedValue.of(v, v - rg.nextDouble(), v + rg.nextDouble()) : Value.of(v)
+                                  );
+                                })
+                                .toList()
+                        )
+                    )
+                    .toList()
+            )
+        )
+    );
+  }
+
+  @Test
+  void boxPlotTiledRasterEqualsDirect() {
+    assertTiledRasterEqualsDirect(
+        new BoxPlotDrawer(),
+        List.of(distributionPlot(100, 2, 1), distributionPlot(50, 1, 2), distributionPlot(100, 2, 3))
+    );
+  }
+
+  @Test
+  void linesPlotTiledRasterEqualsDirect() {
+    assertTiledRasterEqualsDirect(
+        new LinesPlotDrawer(),
+        List.of(xyPlot(100, 2, true, 1), xyPlot(50, 1, false, 2), xyPlot(100, 2, true, 3))
+    );
+  }
+
+  @Test
+  void pointsPlotTiledRasterEqualsDirect() {
+    assertTiledRasterEqualsDirect(
+        new PointsPlotDrawer(),
+        List.of(xyPlot(100, 2, false, 1), xyPlot(50, 1, false, 2), xyPlot(100, 2, false, 3))
+    );
+  }
+
+  @Test
+  void tiledRasterHasNoSeams() {
+    // elements filling their whole area with a color: no background pixel should be left between them
+    Drawer<Color> drawer = (g, c) -> {
+      g.setColor(c);
+      g.fill(g.getClip());
+    };
+    for (Arrangement arrangement : Arrangement.values()) {
+      for (ImageInfo imageInfo : IMAGE_INFOS) {
+        BufferedImage image = drawer.multi(arrangement)
+            .buildRaster(imageInfo, List.of(Color.RED, Color.BLUE, Color.BLACK));
+        for (int x = 0; x < imageInfo.w(); x = x + 1) {
+          for (int y = 0; y < imageInfo.h(); y = y + 1) {
+            assertTrue(
+                image.getRGB(x, y) != Drawer.BG_COLOR.getRGB(),
+                "Background pixel at (%d,%d) with %s arrangement on %dx%d"
+                    .formatted(x, y, arrangement, imageInfo.w(), imageInfo.h())
+            );
+          }
+        }
+      }
+    }
+  }
+}